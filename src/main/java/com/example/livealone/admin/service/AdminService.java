@@ -50,9 +50,7 @@ public class AdminService {
       ), HttpStatus.BAD_REQUEST);
     }
 
-    user.registerAdmin();
-
-    userService.saveUser(user);
+    userService.registerAdmin(user.getId());
   }
 
   public AdminRoleResponseDto getUserRole(User user) {
@@ -2,6 +2,7 @@ package com.example.livealone.broadcast.controller;
 
 import com.example.livealone.broadcast.dto.BroadcastRequestDto;
 import com.example.livealone.broadcast.dto.BroadcastResponseDto;
+import com.example.livealone.broadcast.dto.BroadcastStateDto;
 import com.example.livealone.broadcast.dto.BroadcastTitleResponseDto;
 import com.example.livealone.broadcast.dto.CreateBroadcastResponseDto;
 import com.example.livealone.broadcast.dto.UserBroadcastResponseDto;
@@ -13,6 +14,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -64,12 +67,22 @@ public class BroadcastController {
 
   }
 
+  /**
+   * 방송 상태 버전을 ETag 로 내려주고, If-None-Match 가 같으면 본문 없이 304 를 반환합니다.
+   */
   @GetMapping("/broadcast")
-  public ResponseEntity<CommonResponseDto<BroadcastResponseDto>> getBoard() {
+  public ResponseEntity<CommonResponseDto<BroadcastResponseDto>> getBoard(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-    BroadcastResponseDto responseDto = broadcastService.inquiryCurrentBroadcast();
+    BroadcastStateDto state = broadcastService.inquiryCurrentBroadcastState();
+    String eTag = "\"" + state.getVersion() + "\"";
+    if (eTag.equals(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
 
-    return ResponseEntity.status(HttpStatus.OK).body(
+    BroadcastResponseDto responseDto = broadcastService.requireOnAir(state);
+
+    return ResponseEntity.status(HttpStatus.OK).eTag(eTag).body(
         new CommonResponseDto<>(
             HttpStatus.OK.value(),
             "현재 진행중인 방송을 성공적으로 불러왔습니다.",
@@ -0,0 +1,18 @@
+package com.example.livealone.broadcast.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 방송 상태 스냅샷
+ * version 은 방송이 시작 / 종료될 때마다 1씩 증가하며, GET /broadcast 의 ETag 로도 사용합니다.
+ */
+@Getter
+@Builder
+public class BroadcastStateDto {
+
+  private long version;
+  private boolean onAir;
+  private BroadcastResponseDto broadcast;
+
+}
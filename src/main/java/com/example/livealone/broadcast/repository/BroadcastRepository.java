@@ -5,10 +5,15 @@ import com.example.livealone.broadcast.entity.BroadcastStatus;
 import com.example.livealone.reservation.entity.Reservations;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BroadcastRepository extends JpaRepository<Broadcast, Long>, BroadcastRepositoryQuery {
   Optional<Broadcast> findByBroadcastStatus(BroadcastStatus status);
 
+  @Query("SELECT b FROM Broadcast b JOIN FETCH b.product WHERE b.broadcastStatus = :status")
+  Optional<Broadcast> findWithProductByBroadcastStatus(@Param("status") BroadcastStatus status);
+
   Optional<Broadcast> findByReservation(Reservations code);
 }
 
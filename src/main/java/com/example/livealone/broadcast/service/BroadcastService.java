@@ -1,23 +1,25 @@
 package com.example.livealone.broadcast.service;
 
 import static com.example.livealone.global.entity.SocketMessageType.BROADCAST;
+import static com.example.livealone.global.entity.SocketMessageType.BROADCAST_STATE;
 import static com.example.livealone.global.entity.SocketMessageType.ERROR;
 
 import com.example.livealone.admin.dto.AdminBroadcastListResponseDto;
 import com.example.livealone.admin.mapper.AdminMapper;
 import com.example.livealone.broadcast.dto.BroadcastRequestDto;
 import com.example.livealone.broadcast.dto.BroadcastResponseDto;
+import com.example.livealone.broadcast.dto.BroadcastStateDto;
 import com.example.livealone.broadcast.dto.BroadcastTitleResponseDto;
 import com.example.livealone.broadcast.dto.CreateBroadcastResponseDto;
 import com.example.livealone.broadcast.dto.StreamKeyResponseDto;
 import com.example.livealone.broadcast.dto.UserBroadcastResponseDto;
 import com.example.livealone.broadcast.entity.Broadcast;
 import com.example.livealone.broadcast.entity.BroadcastStatus;
-import com.example.livealone.product.dto.ProductResponseDto;
-import com.example.livealone.product.service.ProductService;
+import com.example.livealone.product.service.ProductCache;
 import com.example.livealone.reservation.entity.Reservations;
 import com.example.livealone.broadcast.mapper.BroadcastMapper;
 import com.example.livealone.broadcast.repository.BroadcastRepository;
+import com.example.livealone.global.config.WebSocketConfig;
 import com.example.livealone.global.dto.SocketMessageDto;
 import com.example.livealone.global.exception.CustomException;
 import com.example.livealone.product.entity.Product;
@@ -49,7 +51,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -64,10 +65,13 @@ public class BroadcastService {
   private final ObjectMapper objectMapper;
   private final MessageSource messageSource;
   private final RedissonClient redissonClient;
+  private final ProductCache productCache;
+  private final OnAirBroadcastCache onAirBroadcastCache;
   private final SimpMessagingTemplate messagingTemplate;
 
   private static final int PAGE_SIZE = 5;
   public static final String REDIS_ONAIR_BROADCAST_KEY = "OnAirBroadcast";
+  public static final String BROADCAST_DESTINATION = WebSocketConfig.TOPIC_PREFIX + "/message";
 
   @Value("${default.stream-key}")
   private String DEFAULT_STREAM_KEY;
@@ -98,9 +102,11 @@ public class BroadcastService {
 
     BroadcastResponseDto redis = BroadcastMapper.toBroadcastResponseDto(saveBroadcast, saveBroadcast.getProduct());
     bucket.set(redis, 1, TimeUnit.HOURS);
+    onAirBroadcastCache.changed();
 
     sendStreamKey(
         BroadcastMapper.toStreamKeyResponseDto(true, broadcast.getReservation().getCode()));
+    sendBroadcastState();
 
     return BroadcastMapper.toCreateBroadcastResponseDto(saveBroadcast);
   }
@@ -109,26 +115,63 @@ public class BroadcastService {
     return broadcastRepository.findAllByUserId(user.getId(), page, PAGE_SIZE);
   }
 
-  @Transactional(readOnly = true)
+  /**
+   * 현재 진행중인 방송을 조회합니다. 평소에는 OnAirBroadcastCache 의 로컬 스냅샷을 반환합니다.
+   */
   public BroadcastResponseDto inquiryCurrentBroadcast() {
-    RBucket<BroadcastResponseDto> bucket = redissonClient.getBucket(REDIS_ONAIR_BROADCAST_KEY);
-    if (bucket.isExists()) {
-      return bucket.get();
+    return requireOnAir(inquiryCurrentBroadcastState());
+  }
+
+  /**
+   * 방송 상태 스냅샷에서 진행중인 방송을 꺼냅니다. 진행중인 방송이 없으면 404
+   */
+  public BroadcastResponseDto requireOnAir(BroadcastStateDto state) {
+    if (!state.isOnAir()) {
+      throw new CustomException(messageSource.getMessage(
+          "no.exit.current.broadcast",
+          null,
+          CustomException.DEFAULT_ERROR_MESSAGE,
+          Locale.getDefault()
+      ), HttpStatus.NOT_FOUND);
     }
 
-    Broadcast broadcast = broadcastRepository.findByBroadcastStatus(BroadcastStatus.ONAIR)
-        .orElseThrow(() ->
-            new CustomException(messageSource.getMessage(
-                "no.exit.current.broadcast",
-                null,
-                CustomException.DEFAULT_ERROR_MESSAGE,
-                Locale.getDefault()
-            ), HttpStatus.NOT_FOUND)
-        );
+    return state.getBroadcast();
+  }
 
-    Product product = broadcast.getProduct();
+  public BroadcastStateDto inquiryCurrentBroadcastState() {
+    return onAirBroadcastCache.get(this::loadOnAirBroadcast);
+  }
 
-    return BroadcastMapper.toBroadcastResponseDto(broadcast, product);
+  /**
+   * 현재 진행중인 방송 id 를 반환합니다. 진행중인 방송이 없으면 null
+   * @return
+   */
+  public Long findOnAirBroadcastId() {
+    BroadcastResponseDto broadcast = inquiryCurrentBroadcastState().getBroadcast();
+
+    return broadcast == null ? null : broadcast.getBroadcastId();
+  }
+
+  /**
+   * 클라이언트가 보낸 방송 id 가 현재 진행중인 방송인지 확인합니다. 아니면 404
+   * 방송 id 로 요청 한도를 나누므로, 임의의 id 로 한도를 우회하지 못하게 먼저 확인합니다.
+   * @param broadcastId
+   */
+  public void requireOnAirBroadcast(Long broadcastId) {
+    if (broadcastId == null || !broadcastId.equals(findOnAirBroadcastId())) {
+      throw new CustomException(messageSource.getMessage(
+          "no.exit.current.broadcast",
+          null,
+          CustomException.DEFAULT_ERROR_MESSAGE,
+          Locale.getDefault()
+      ), HttpStatus.NOT_FOUND);
+    }
+  }
+
+  private BroadcastResponseDto loadOnAirBroadcast() {
+    return broadcastRepository.findWithProductByBroadcastStatus(BroadcastStatus.ONAIR)
+        .map(broadcast -> BroadcastMapper.toBroadcastResponseDto(broadcast, broadcast.getProduct()))
+        .orElse(null);
   }
 
   public void closeBroadcast(User user) throws JsonProcessingException {
@@ -146,8 +189,7 @@ public class BroadcastService {
               ), HttpStatus.NOT_FOUND)
           );
 
-      RBucket<BroadcastResponseDto> broadcastBucket = redissonClient.getBucket(REDIS_ONAIR_BROADCAST_KEY);
-      RBucket<ProductResponseDto> productBucket = redissonClient.getBucket(ProductService.REDIS_PRODUCT_KEY + broadcast.getProduct().getId());
+      RBucket<BroadcastResponseDto> broadcastBucket = redisTransaction.getBucket(REDIS_ONAIR_BROADCAST_KEY);
 
       if (!Objects.equals(broadcast.getStreamer().getId(), user.getId())) {
         throw new CustomException(messageSource.getMessage(
@@ -161,11 +203,14 @@ public class BroadcastService {
       broadcastRepository.save(broadcast.closeBroadcast());
 
       deleteCache(broadcastBucket);
-      deleteCache(productBucket);
 
       redisTransaction.commit();
 
+      onAirBroadcastCache.changed();
+      productCache.invalidate(broadcast.getProduct().getId());
+
       sendStreamKey(BroadcastMapper.toStreamKeyResponseDto(false, ""));
+      sendBroadcastState();
     } catch (Exception error) {
       redisTransaction.rollback();
       throw error;
@@ -180,20 +225,23 @@ public class BroadcastService {
     RTransaction redisTransaction = redissonClient.createTransaction(TransactionOptions.defaults());
 
     try {
-      RBucket<BroadcastResponseDto> broadcastBucket = redissonClient.getBucket(REDIS_ONAIR_BROADCAST_KEY);
+      RBucket<BroadcastResponseDto> broadcastBucket = redisTransaction.getBucket(REDIS_ONAIR_BROADCAST_KEY);
       if(!broadcastBucket.isExists())
         return;
-      RBucket<Product> productBucket = redissonClient.getBucket(ProductService.REDIS_PRODUCT_KEY + broadcastBucket.get().getProductId());
+      Long productId = broadcastBucket.get().getProductId();
 
       broadcastRepository.findByBroadcastStatus(BroadcastStatus.ONAIR)
           .ifPresent(broadcast -> broadcastRepository.save(broadcast.closeBroadcast()));
 
       deleteCache(broadcastBucket);
-      deleteCache(productBucket);
 
       redisTransaction.commit();
 
+      onAirBroadcastCache.changed();
+      productCache.invalidate(productId);
+
       sendStreamKey(BroadcastMapper.toStreamKeyResponseDto(false, ""));
+      sendBroadcastState();
     } catch (Exception error) {
       redisTransaction.rollback();
       throw error;
@@ -248,7 +296,17 @@ public class BroadcastService {
     String messageJSON = objectMapper.writeValueAsString(responseDto);
     SocketMessageDto socketMessageDto = new SocketMessageDto(BROADCAST, "server", messageJSON);
 
-    messagingTemplate.convertAndSend("queue/message",socketMessageDto);
+    messagingTemplate.convertAndSend(BROADCAST_DESTINATION, socketMessageDto);
+  }
+
+  /**
+   * 바뀐 방송 상태(버전 포함)를 모든 시청자에게 보냅니다.
+   */
+  protected void sendBroadcastState() throws JsonProcessingException {
+    String messageJSON = objectMapper.writeValueAsString(inquiryCurrentBroadcastState());
+    SocketMessageDto socketMessageDto = new SocketMessageDto(BROADCAST_STATE, "server", messageJSON);
+
+    messagingTemplate.convertAndSend(BROADCAST_DESTINATION, socketMessageDto);
   }
 
   public BroadcastTitleResponseDto getBroadcastTitle(Long broadcastId) {
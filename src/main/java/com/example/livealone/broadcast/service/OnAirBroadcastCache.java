@@ -0,0 +1,160 @@
+package com.example.livealone.broadcast.service;
+
+import com.example.livealone.broadcast.dto.BroadcastResponseDto;
+import com.example.livealone.broadcast.dto.BroadcastStateDto;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 진행중인 방송 로컬 캐시
+ *
+ * 방송 시작 / 종료 시 버전(OnAirBroadcast::version)을 올리고 Redis pub/sub 으로 모든 노드의 스냅샷을 비웁니다.
+ * 다음 조회 때 OnAirBroadcast 버킷과 버전을 batch 로 한 번에 읽습니다.
+ * 진행중인 방송이 없는 상태도 캐시하므로 평소 조회는 네트워크 호출 없이 처리됩니다.
+ * pub/sub 메시지를 놓치는 경우를 대비해 스냅샷은 {@value #LOCAL_TTL_MILLIS}ms 후 다시 읽습니다.
+ * DB 에서 읽은 값은 처음 읽은 버전이 그대로일 때만 버킷에 기록하여, 그 사이 종료된 방송이 다시 캐시되지 않게 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OnAirBroadcastCache {
+
+  public static final String CHANGED_TOPIC = "OnAirBroadcast::changed";
+  public static final String REDIS_VERSION_KEY = "OnAirBroadcast::version";
+
+  private static final long LOCAL_TTL_MILLIS = 60_000;
+  private static final long REDIS_TTL_HOURS = 1;
+
+  private static final String WRITE_IF_VERSION_SCRIPT =
+      "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[2] then return 0; end; " +
+      "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[3]); " +
+      "return 1;";
+
+  private final RedissonClient redissonClient;
+
+  private RTopic changedTopic;
+
+  private volatile Snapshot snapshot;
+
+  @PostConstruct
+  public void init() {
+    changedTopic = redissonClient.getTopic(CHANGED_TOPIC, StringCodec.INSTANCE);
+    changedTopic.addListener(String.class, (channel, message) -> snapshot = null);
+  }
+
+  /**
+   * @param loader 버킷이 비어 있을 때 DB 에서 진행중인 방송을 읽습니다. 없으면 null
+   * @return 진행중인 방송이 없으면 onAir 가 false 인 상태
+   */
+  public BroadcastStateDto get(Supplier<BroadcastResponseDto> loader) {
+    Snapshot current = snapshot;
+    if (current != null && !current.isExpired()) {
+      return current.state;
+    }
+
+    synchronized (this) {
+      current = snapshot;
+      if (current != null && !current.isExpired()) {
+        return current.state;
+      }
+
+      RBatch batch = redissonClient.createBatch();
+      RFuture<BroadcastResponseDto> broadcastFuture = batch.<BroadcastResponseDto>getBucket(BroadcastService.REDIS_ONAIR_BROADCAST_KEY).getAsync();
+      RFuture<Long> versionFuture = batch.getAtomicLong(REDIS_VERSION_KEY).getAsync();
+      batch.execute();
+
+      BroadcastResponseDto broadcast = broadcastFuture.toCompletableFuture().join();
+      long version = versionFuture.toCompletableFuture().join();
+      boolean cacheable = true;
+      if (broadcast == null) {
+        broadcast = loader.get();
+        if (broadcast != null) {
+          cacheable = writeIfVersion(broadcast, version);
+        }
+      }
+
+      BroadcastStateDto state = BroadcastStateDto.builder()
+          .version(version)
+          .onAir(broadcast != null)
+          .broadcast(broadcast)
+          .build();
+      if (cacheable) {
+        snapshot = new Snapshot(state, System.currentTimeMillis());
+      }
+      return state;
+    }
+  }
+
+  /**
+   * 방송 상태가 바뀌었을 때 버전을 올리고 모든 노드의 스냅샷을 비웁니다.
+   */
+  public void changed() {
+    redissonClient.getAtomicLong(REDIS_VERSION_KEY).incrementAndGet();
+    snapshot = null;
+    try {
+      changedTopic.publish("changed");
+    } catch (Exception e) {
+      log.error("방송 캐시 무효화 전파 실패 : {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 버전이 그대로일 때만 버킷에 기록합니다. 버킷은 다른 경로와 같은 기본 codec 으로 인코딩합니다.
+   *
+   * @return 버전이 바뀌어 기록하지 않았으면 false
+   */
+  private boolean writeIfVersion(BroadcastResponseDto broadcast, long version) {
+    Codec codec = redissonClient.getConfig().getCodec();
+    ByteBuf encoded;
+    try {
+      encoded = codec.getValueEncoder().encode(broadcast);
+    } catch (IOException e) {
+      log.error("방송 캐시 인코딩 실패 : {}", e.getMessage());
+      return false;
+    }
+
+    try {
+      RScript script = redissonClient.getScript(ByteArrayCodec.INSTANCE);
+      Long written = script.eval(RScript.Mode.READ_WRITE, WRITE_IF_VERSION_SCRIPT, RScript.ReturnType.INTEGER,
+          List.<Object>of(BroadcastService.REDIS_ONAIR_BROADCAST_KEY, REDIS_VERSION_KEY),
+          ByteBufUtil.getBytes(encoded),
+          String.valueOf(version).getBytes(StandardCharsets.UTF_8),
+          String.valueOf(TimeUnit.HOURS.toMillis(REDIS_TTL_HOURS)).getBytes(StandardCharsets.UTF_8));
+      return written == 1;
+    } finally {
+      encoded.release();
+    }
+  }
+
+  private static class Snapshot {
+
+    private final BroadcastStateDto state;
+    private final long loadedAt;
+
+    Snapshot(BroadcastStateDto state, long loadedAt) {
+      this.state = state;
+      this.loadedAt = loadedAt;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() - loadedAt > LOCAL_TTL_MILLIS;
+    }
+  }
+}
@@ -1,43 +1,119 @@
 package com.example.livealone.chat.controller;
 
 import com.example.livealone.chat.service.ChatService;
+import com.example.livealone.global.config.KafkaConsumerConfig;
+import com.example.livealone.global.config.WebSocketConfig;
 import com.example.livealone.global.dto.SocketMessageDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 
 @RestController
 @RequiredArgsConstructor
 @Slf4j(topic = "ChatController")
 public class ChatController {
 
+    private static final String CHAT_TOPIC = "chat";
+    private static final String CHAT_ID_HEADER = "chatId";
+    public static final String CHAT_DESTINATION = WebSocketConfig.TOPIC_PREFIX + "/message";
+
     private final ChatService chatService;
     private final KafkaTemplate<String,String> kafkaTemplate;
     private final SimpMessagingTemplate messagingTemplate;
+    private final KafkaConsumerConfig kafkaConsumerConfig;
 
     @MessageMapping("/session")
-    @SendToUser("/queue/reply")
-    public String getAuthRequest(SocketMessageDto socketMessageDto) throws JsonProcessingException {
-        return chatService.createSessionReply(socketMessageDto);
+    @SendToUser(destinations = "/queue/reply", broadcast = false)
+    public String getAuthRequest(SocketMessageDto socketMessageDto,
+                                 SimpMessageHeaderAccessor headerAccessor) throws JsonProcessingException {
+        return chatService.createSessionReply(socketMessageDto, headerAccessor.getSessionAttributes());
     }
 
+    /**
+     * 방송 id 를 key 로 보내 같은 방송의 채팅은 같은 파티션에 순서대로 쌓이도록 합니다.
+     * 방송 id 는 클라이언트 헤더 대신 세션에 정해 둔 방송을 사용합니다.
+     * 사용자별, 방송별 전송 한도를 넘은 채팅은 버립니다.
+     */
     @MessageMapping("/send")
-    public void getMessageRequest(SocketMessageDto chat) throws JsonProcessingException {
-        String kafkaMessage = chatService.createKafkaMessage(chat);
-        kafkaTemplate.send("chat",kafkaMessage);
+    public void getMessageRequest(SocketMessageDto chat,
+                                  SimpMessageHeaderAccessor headerAccessor) throws JsonProcessingException {
+        String kafkaKey = chatService.getBroadcastKey(headerAccessor.getSessionAttributes());
+        if (!chatService.tryAcquireSend(kafkaKey, headerAccessor.getSessionAttributes())) {
+            return;
+        }
+
+        String chatId = chatService.createChatId();
+        String kafkaMessage = chatService.createKafkaMessage(kafkaKey, chatId,
+                chatService.applySessionMessenger(chat, headerAccessor.getSessionAttributes()));
+
+        ProducerRecord<String, String> record = new ProducerRecord<>(CHAT_TOPIC, kafkaKey, kafkaMessage);
+        record.headers().add(CHAT_ID_HEADER, chatId.getBytes(StandardCharsets.UTF_8));
+        kafkaTemplate.send(record);
+    }
+
+    /**
+     * poll 한 번에 받은 채팅을 한 번에 STOMP 로 전달합니다.
+     * Kafka 메시지는 이미 JSON 이므로 envelope 만 확인하고 받은 byte[] 를 그대로 프레임 body 로 보냅니다.
+     * relay 모드에서는 이 노드가 일부 방송의 채팅만 받으므로 최근 채팅 버퍼는 {@link #listenRecentChat} 이 채웁니다.
+     */
+    @KafkaListener(topics = CHAT_TOPIC, containerFactory = KafkaConsumerConfig.CHAT_BATCH_LISTENER_FACTORY)
+    public void listenGroupChat(List<ConsumerRecord<String, byte[]>> records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            SocketMessageDto envelope = chatService.readEnvelope(record.value());
+            if (envelope == null) {
+                messagingTemplate.convertAndSend(CHAT_DESTINATION, chatService.createSendFailedMessage());
+                continue;
+            }
+
+            if (!kafkaConsumerConfig.isRelayMode()) {
+                chatService.appendRecentChat(record.key(), readChatId(record), envelope);
+            }
+            sendRawMessage(record.value());
+        }
+    }
+
+    /**
+     * relay 모드에서 노드마다 모든 채팅을 받아 최근 채팅 버퍼만 채웁니다. STOMP 로는 보내지 않습니다.
+     */
+    @KafkaListener(topics = CHAT_TOPIC, containerFactory = KafkaConsumerConfig.RECENT_CHAT_LISTENER_FACTORY)
+    public void listenRecentChat(List<ConsumerRecord<String, byte[]>> records) {
+        for (ConsumerRecord<String, byte[]> record : records) {
+            SocketMessageDto envelope = chatService.readEnvelope(record.value());
+            if (envelope != null) {
+                chatService.appendRecentChat(record.key(), readChatId(record), envelope);
+            }
+        }
+    }
+
+    private String readChatId(ConsumerRecord<String, byte[]> record) {
+        org.apache.kafka.common.header.Header chatIdHeader = record.headers().lastHeader(CHAT_ID_HEADER);
+        return chatIdHeader == null ? null : new String(chatIdHeader.value(), StandardCharsets.UTF_8);
     }
 
-    @KafkaListener(topics = "chat")
-    public void listenGroupChat(String message) {
-        SocketMessageDto socketMessageDto = chatService.write(message);
-        messagingTemplate.convertAndSend("/queue/message",socketMessageDto);
+    /**
+     * convertAndSend 는 byte[] 를 application/json 으로 보낼 때 Jackson 으로 다시 인코딩하므로 메시지를 직접 만들어 보냅니다.
+     */
+    private void sendRawMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(CHAT_DESTINATION, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
     }
 
 }
@@ -1,5 +1,6 @@
 package com.example.livealone.chat.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -8,4 +9,7 @@ import lombok.Getter;
 public class ChatInitDto {
     private String initNickname;
     private String initText;
+    // 최근 채팅 중복 제거용 id, 응답에는 포함하지 않습니다.
+    @JsonIgnore
+    private String chatId;
 }
@@ -3,21 +3,30 @@ package com.example.livealone.chat.entity;
 import jakarta.persistence.Id;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "chatMessages")
+@CompoundIndex(name = "idx_chat_messages_broadcast_id", def = "{'broadcastId': 1, '_id': -1}")
 @NoArgsConstructor
 @Getter
 public class ChatMessage {
     @Id
     private String id;
+    private String broadcastId;
     private String nickname;
     private String message;
     private LocalDateTime messageTime;
 
-    public ChatMessage(String nickname, String message){
+    /**
+     * @param id 발행할 때 만든 ObjectId. Kafka 로 받은 채팅과 같은 id 라 최근 채팅을 합칠 때 중복을 걸러냅니다.
+     * @param broadcastId 채팅 Kafka key (방송 id)
+     */
+    public ChatMessage(String id, String broadcastId, String nickname, String message){
+        this.id = id;
+        this.broadcastId = broadcastId;
         this.nickname = nickname;
         this.message = message;
         this.messageTime = LocalDateTime.now();
@@ -3,8 +3,8 @@ package com.example.livealone.chat.repository;
 import com.example.livealone.chat.entity.ChatMessage;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-import java.util.ArrayList;
+import java.util.List;
 
 public interface ChatMessageRepository extends MongoRepository<ChatMessage,String> {
-    ArrayList<ChatMessage> findTop30ByOrderByIdDesc();
+    List<ChatMessage> findTop30ByBroadcastIdOrderByIdDesc(String broadcastId);
 }
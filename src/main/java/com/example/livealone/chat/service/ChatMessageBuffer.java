@@ -0,0 +1,167 @@
+package com.example.livealone.chat.service;
+
+import com.example.livealone.chat.entity.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 write-behind 버퍼
+ *
+ * STOMP 스레드는 크기가 정해진 버퍼에 넣기만 하고, 전용 스레드가 100개가 모이거나 200ms 가 지나면
+ * unordered bulk insert 로 MongoDB 에 저장합니다. 버퍼가 가득 차면 저장을 포기하고 dropped 카운터를 올립니다.
+ */
+@Slf4j
+@Component
+public class ChatMessageBuffer {
+
+    private static final int CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 100;
+    private static final long FLUSH_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<ChatMessage> buffer = new ArrayBlockingQueue<>(CAPACITY);
+    private final Thread flusher = new Thread(this::run, "chat-message-flusher");
+
+    private final Counter droppedCounter;
+    private final Counter savedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+
+    public ChatMessageBuffer(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.droppedCounter = Counter.builder("chat.message.buffer.dropped").register(meterRegistry);
+        this.savedCounter = Counter.builder("chat.message.buffer.saved").register(meterRegistry);
+        this.failedCounter = Counter.builder("chat.message.buffer.failed").register(meterRegistry);
+        Gauge.builder("chat.message.buffer.size", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * auto-index-creation 을 켜지 않으므로 최근 채팅 조회에 쓰는 (broadcastId, _id) 인덱스를 직접 만듭니다.
+     * ChatMessage 의 @CompoundIndex 정의를 그대로 사용하며, 이미 있으면 MongoDB 가 무시합니다.
+     * 실패해도 서버는 뜨고, 최근 채팅 조회만 느려집니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(ChatMessage.class);
+            new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(ChatMessage.class)
+                    .forEach(indexOps::ensureIndex);
+        } catch (Exception e) {
+            log.error("채팅 메시지 인덱스 생성 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 버퍼에 메시지를 추가합니다. 블로킹하지 않습니다.
+     * @param chatMessage
+     * @return 버퍼가 가득 차서 버려졌으면 false
+     */
+    public boolean add(ChatMessage chatMessage) {
+        if (!buffer.offer(chatMessage)) {
+            droppedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 지금 버퍼에 있는 메시지를 호출한 스레드에서 모두 저장합니다. 전용 스레드는 계속 동작합니다.
+     */
+    public void flush() {
+        List<ChatMessage> batch = new ArrayList<>(BATCH_SIZE);
+        while (buffer.drainTo(batch, BATCH_SIZE) > 0) {
+            save(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 빈이 소멸될 때만 전용 스레드를 멈춥니다. 스레드가 들고 있던 배치를 저장할 때까지 기다린 뒤 남은 메시지를 저장합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flush();
+    }
+
+    private void run() {
+        List<ChatMessage> batch = new ArrayList<>(BATCH_SIZE);
+
+        while (running) {
+            try {
+                ChatMessage first = buffer.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+                while (batch.size() < BATCH_SIZE) {
+                    if (buffer.drainTo(batch, BATCH_SIZE - batch.size()) > 0) {
+                        continue;
+                    }
+                    ChatMessage next = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                save(batch);
+            } catch (InterruptedException e) {
+                // 이미 버퍼에서 꺼낸 메시지는 버리지 않고 저장한 뒤 멈춥니다.
+                if (!batch.isEmpty()) {
+                    save(batch);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void save(List<ChatMessage> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class)
+                    .insert(batch)
+                    .execute();
+            savedCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("채팅 메시지 저장 실패 : {}", e.getMessage());
+        }
+    }
+}
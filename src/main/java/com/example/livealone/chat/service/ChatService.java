@@ -6,19 +6,22 @@ import com.example.livealone.chat.entity.ChatErrorLog;
 import com.example.livealone.chat.entity.ChatMessage;
 import com.example.livealone.chat.entity.ChatSessionLog;
 import com.example.livealone.chat.repository.ChatErrorLogRepository;
-import com.example.livealone.chat.repository.ChatMessageRepository;
 import com.example.livealone.chat.repository.ChatSessionLogRepository;
 import com.example.livealone.global.dto.SocketMessageDto;
 import com.example.livealone.global.entity.SocketMessageType;
+import com.example.livealone.global.ratelimit.RateLimitPolicy;
+import com.example.livealone.global.ratelimit.RateLimiter;
 import com.example.livealone.global.security.JwtService;
 import com.example.livealone.user.dto.ReissueRequestDto;
 import com.example.livealone.user.dto.TokenResponseDto;
 import com.example.livealone.user.service.AuthService;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -32,47 +35,55 @@ import static com.example.livealone.global.entity.SocketMessageType.*;
 @Slf4j
 public class ChatService {
 
-    private static final String[] COLORS = {
-            "#FF5733", "#33FF57", "#3357FF", "#F0FF33", "#FF33F0"
-    };
-
-    private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageBuffer chatMessageBuffer;
+    private final RecentChatCache recentChatCache;
     private final ChatErrorLogRepository chatErrorLogRepository;
     private final ChatSessionLogRepository chatSessionLogRepository;
     private final ObjectMapper objectMapper;
     private final JwtService jwtService;
+    private final ChatSessionAuthenticator chatSessionAuthenticator;
+    private final RateLimiter rateLimiter;
     private final AuthService authService;
     private final BroadcastService broadcastService;
-    private final Random random = new Random();
+
+    public static final String SESSION_BROADCAST_KEY = "chatBroadcastKey";
+
+    private static final String NO_BROADCAST_KEY = "none";
 
     private static final int batchSize = 100;
-    private final ConcurrentLinkedQueue<ChatMessage> messageBuffer = new ConcurrentLinkedQueue<>();
     private final ConcurrentLinkedQueue<ChatErrorLog> errorLogsBuffer = new ConcurrentLinkedQueue<>();
     private final ConcurrentLinkedQueue<ChatSessionLog> sessionLogsBuffer = new ConcurrentLinkedQueue<>();
 
-    public String createSessionReply(SocketMessageDto socketMessageDto) throws JsonProcessingException {
+    /**
+     * /pub/session 요청에 대한 응답을 만듭니다.
+     * REQUEST_AUTH 는 CONNECT 에서 이미 인증된 세션이면 토큰을 다시 검증하지 않습니다.
+     */
+    public String createSessionReply(SocketMessageDto socketMessageDto, Map<String, Object> sessionAttributes) throws JsonProcessingException {
         SocketMessageDto messageDto = null;
 
         SocketMessageType type = socketMessageDto.getType();
         switch (type) {
             case REQUEST_AUTH -> {
+                if (ChatSessionAuthenticator.isAuthenticated(sessionAttributes)) {
+                    messageDto = new SocketMessageDto(RESPONSE_AUTH,
+                            ChatSessionAuthenticator.getNickname(sessionAttributes),
+                            ChatSessionAuthenticator.getColor(sessionAttributes));
+                    break;
+                }
+
                 String token = socketMessageDto.getMessage();
-                if (!token.startsWith("Bearer ")) {
+                if (token == null || !token.startsWith("Bearer ")) {
                     messageDto = new SocketMessageDto(ERROR, "back-server", token);
                     break;
                 }
-                String replaceToken = token.replace("Bearer ", "");
-                String isValidToken = jwtService.isValidToken(replaceToken);
-                if (!Objects.equals(isValidToken, "Valid")) {
-                    messageDto = new SocketMessageDto(INVALID_TOKEN, "back-server", isValidToken);
+                if (chatSessionAuthenticator.authenticate(token, sessionAttributes) == null) {
+                    messageDto = new SocketMessageDto(INVALID_TOKEN, "back-server", jwtService.isValidToken(token.replace("Bearer ", "")));
                     break;
                 }
-                Claims claims = jwtService.getClaims(replaceToken);
-                String nickname = claims.get("nickname", String.class);
 
-                // 랜덤색깔 넣어주기
-                int randomIndex = random.nextInt(COLORS.length);
-                messageDto = new SocketMessageDto(RESPONSE_AUTH, nickname, COLORS[randomIndex]);
+                messageDto = new SocketMessageDto(RESPONSE_AUTH,
+                        ChatSessionAuthenticator.getNickname(sessionAttributes),
+                        ChatSessionAuthenticator.getColor(sessionAttributes));
             }
 
             case REQUEST_REFRESH -> {
@@ -86,24 +97,111 @@ public class ChatService {
                 }
             }
             case REQUEST_CHAT_INIT -> {
-                messageDto = writeInitMessages();
+                String initReply = writeInitMessages(getBroadcastKey(sessionAttributes));
+                if (initReply != null) {
+                    return initReply;
+                }
+                messageDto = new SocketMessageDto(ERROR, "back-server", "메시지 초기화 실패");
             }
         }
 
         return objectMapper.writeValueAsString(messageDto);
     }
 
-    public SocketMessageDto write(String message) {
-        try {
-            return objectMapper.readValue(message, SocketMessageDto.class);
-        } catch (JsonProcessingException e) {
-            return new SocketMessageDto(ERROR, "back-server", "메시지 전송 실패");
+    /**
+     * 세션의 방송 id (채팅 Kafka key, 요청 한도와 최근 채팅의 key) 를 반환하는 메서드
+     * 방송 id 는 클라이언트가 보낸 값 대신, 세션에서 처음 요청할 때 진행중인 방송으로 정해 세션 attribute 에 저장하고
+     * 이후 메시지는 attribute 만 읽습니다. 진행중인 방송이 없으면 저장하지 않아 방송이 시작된 뒤 다시 정합니다.
+     * @param sessionAttributes STOMP 세션 attribute
+     * @return 진행중인 방송이 없으면 none
+     */
+    public String getBroadcastKey(Map<String, Object> sessionAttributes) {
+        String broadcastKey = sessionAttributes == null ? null : (String) sessionAttributes.get(SESSION_BROADCAST_KEY);
+        if (broadcastKey != null) {
+            return broadcastKey;
+        }
+
+        Long onAirBroadcastId = broadcastService.findOnAirBroadcastId();
+        if (onAirBroadcastId == null) {
+            return NO_BROADCAST_KEY;
+        }
+
+        broadcastKey = String.valueOf(onAirBroadcastId);
+        if (sessionAttributes != null) {
+            sessionAttributes.put(SESSION_BROADCAST_KEY, broadcastKey);
+        }
+        return broadcastKey;
+    }
+
+    /**
+     * Kafka 로 받은 채팅의 envelope 만 스트리밍 파서로 읽습니다.
+     * 본문은 다시 직렬화하지 않고 그대로 STOMP 로 전달하므로, 여기서는 type 이 올바른지만 확인합니다.
+     * @param payload Kafka 메시지 (JSON)
+     * @return type 이 없거나 올바르지 않으면 null
+     */
+    public SocketMessageDto readEnvelope(byte[] payload) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            SocketMessageType type = null;
+            String messenger = null;
+            String message = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "type" -> type = value == JsonToken.VALUE_STRING ? SocketMessageType.valueOf(parser.getText()) : null;
+                    case "messenger" -> messenger = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "message" -> message = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return type == null ? null : new SocketMessageDto(type, messenger, message);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
         }
     }
 
-    public String createKafkaMessage(SocketMessageDto chat) throws JsonProcessingException {
+    public SocketMessageDto createSendFailedMessage() {
+        return new SocketMessageDto(ERROR, "back-server", "메시지 전송 실패");
+    }
+
+    /**
+     * 사용자별, 방송별 채팅 전송 한도를 확인합니다.
+     * 인증되지 않은 세션은 StompHandler 에서 이미 걸러지므로 여기서는 방송 한도만 확인합니다.
+     * @return 한도를 넘었으면 false
+     */
+    public boolean tryAcquireSend(String broadcastKey, Map<String, Object> sessionAttributes) {
+        if (ChatSessionAuthenticator.isAuthenticated(sessionAttributes)
+                && !rateLimiter.tryAcquire(RateLimitPolicy.CHAT_SEND_USER, String.valueOf(ChatSessionAuthenticator.getUserId(sessionAttributes)))) {
+            return false;
+        }
+        return rateLimiter.tryAcquire(RateLimitPolicy.CHAT_SEND_BROADCAST, broadcastKey);
+    }
+
+    /**
+     * 채팅의 messenger 를 클라이언트가 보낸 값 대신 인증된 세션의 닉네임으로 바꿉니다.
+     */
+    public SocketMessageDto applySessionMessenger(SocketMessageDto chat, Map<String, Object> sessionAttributes) {
+        if (chat.getType() != CHAT_MESSAGE || !ChatSessionAuthenticator.isAuthenticated(sessionAttributes)) {
+            return chat;
+        }
+        return new SocketMessageDto(chat.getType(), ChatSessionAuthenticator.getNickname(sessionAttributes), chat.getMessage());
+    }
+
+    /**
+     * 채팅 id 를 만듭니다. MongoDB 에 저장할 때와 Kafka 헤더에 같은 값을 씁니다.
+     */
+    public String createChatId() {
+        return ObjectId.get().toHexString();
+    }
+
+    public String createKafkaMessage(String broadcastKey, String chatId, SocketMessageDto chat) throws JsonProcessingException {
         try {
-            saveMessage(chat);
+            saveMessage(broadcastKey, chatId, chat);
             return objectMapper.writeValueAsString(chat);
         } catch (JsonProcessingException e) {
             SocketMessageDto dto = new SocketMessageDto(ERROR, "back-server", "JSON데이터 생성 실패");
@@ -112,7 +210,7 @@ public class ChatService {
         }
     }
 
-    private void saveMessage(SocketMessageDto socketMessageDto) {
+    private void saveMessage(String broadcastKey, String chatId, SocketMessageDto socketMessageDto) {
 
         try {
             switch (socketMessageDto.getType()) {
@@ -125,10 +223,7 @@ public class ChatService {
                     }
                 }
                 case CHAT_MESSAGE -> {
-                    chatMessageRepository.save(new ChatMessage(socketMessageDto.getMessenger(), socketMessageDto.getMessage()));
-                    if (messageBuffer.size() > batchSize) {
-                        saveChatMessages();
-                    }
+                    chatMessageBuffer.add(new ChatMessage(chatId, broadcastKey, socketMessageDto.getMessenger(), socketMessageDto.getMessage()));
                 }
                 case FAILED -> {
                     ChatErrorLog chatErrorLog = new ChatErrorLog(socketMessageDto.getMessage());
@@ -152,13 +247,6 @@ public class ChatService {
         }
     }
 
-    private synchronized void saveChatMessages() {
-        if (!messageBuffer.isEmpty()) {
-            chatMessageRepository.saveAll(new ArrayList<>(messageBuffer));
-            messageBuffer.clear();
-        }
-    }
-
     private synchronized void saveErrorLogs() {
         if (!errorLogsBuffer.isEmpty()) {
             chatErrorLogRepository.saveAll(new ArrayList<>(errorLogsBuffer));
@@ -176,30 +264,32 @@ public class ChatService {
 
     public void flush() {
         log.debug("서버 종료 전 버퍼에 있는 데이터 저장");
-        saveChatMessages();
+        chatMessageBuffer.flush();
         saveErrorLogs();
         saveSessionLogs();
     }
 
-    private SocketMessageDto writeInitMessages() {
+    /**
+     * 최근 채팅 응답 JSON 을 반환합니다. 실패하면 null
+     */
+    private String writeInitMessages(String broadcastKey) {
         try {
-            List<ChatMessage> chatList = chatMessageRepository.findTop30ByOrderByIdDesc();
-
-            List<ChatInitDto> initData = new ArrayList<>();
-            for (ChatMessage chat : chatList) {
-                String initNickname = chat.getNickname();
-                String initText = chat.getMessage();
-                ChatInitDto init = new ChatInitDto(initNickname, initText);
-                initData.add(init);
-            }
-            Collections.reverse(initData);
-            String messageJSON = objectMapper.writeValueAsString(initData);
-            return new SocketMessageDto(RESPONSE_CHAT_INIT, "back-server", messageJSON);
-
-        } catch (IOException e) {
+            return recentChatCache.getInitReply(broadcastKey);
+        } catch (Exception e) {
             log.debug(e.getMessage());
             addErrorLogs(e.getMessage());
-            return new SocketMessageDto(ERROR, "back-server", "메시지 초기화 실패");
+            return null;
+        }
+    }
+
+    /**
+     * Kafka 로 받은 채팅을 방송별 최근 채팅 버퍼에 추가합니다.
+     * @param chatId 채팅 id 헤더, 없으면 null
+     */
+    public void appendRecentChat(String broadcastKey, String chatId, SocketMessageDto socketMessageDto) {
+        if (socketMessageDto.getType() == CHAT_MESSAGE) {
+            recentChatCache.append(broadcastKey == null ? NO_BROADCAST_KEY : broadcastKey,
+                    new ChatInitDto(socketMessageDto.getMessenger(), socketMessageDto.getMessage(), chatId));
         }
     }
 }
@@ -0,0 +1,84 @@
+package com.example.livealone.chat.service;
+
+import com.example.livealone.global.security.JwtService;
+import com.example.livealone.global.security.TokenClaims;
+import com.example.livealone.global.security.UserDetailsImpl;
+import com.example.livealone.global.security.UserDetailsServiceImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * STOMP 세션 인증
+ *
+ * CONNECT 프레임(또는 이전 방식의 REQUEST_AUTH)에서 토큰을 한 번만 검증하고,
+ * 인증 정보와 채팅 색상을 세션 attribute 에 저장합니다. 이후 메시지는 attribute 만 확인합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatSessionAuthenticator {
+
+    public static final String SESSION_AUTHENTICATION = "chatAuthentication";
+    public static final String SESSION_NICKNAME = "chatNickname";
+    public static final String SESSION_COLOR = "chatColor";
+
+    private static final String TOKEN_PREFIX = "Bearer ";
+
+    private static final String[] COLORS = {
+            "#FF5733", "#33FF57", "#3357FF", "#F0FF33", "#FF33F0"
+    };
+
+    private final JwtService jwtService;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    /**
+     * @param bearerToken "Bearer " 로 시작하는 Access Token
+     * @param sessionAttributes STOMP 세션 attribute
+     * @return 토큰이 없거나 유효하지 않으면 null
+     */
+    public Authentication authenticate(String bearerToken, Map<String, Object> sessionAttributes) {
+        if (bearerToken == null || !bearerToken.startsWith(TOKEN_PREFIX) || sessionAttributes == null) {
+            return null;
+        }
+
+        TokenClaims claims = jwtService.getValidClaims(bearerToken.substring(TOKEN_PREFIX.length()));
+        if (claims == null) {
+            return null;
+        }
+
+        UserDetailsImpl userDetails = userDetailsService.loadUserByClaims(claims);
+        if (userDetails == null) {
+            return null;
+        }
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+
+        sessionAttributes.put(SESSION_AUTHENTICATION, authentication);
+        sessionAttributes.put(SESSION_NICKNAME, userDetails.getNickname());
+        // 랜덤색깔 넣어주기
+        sessionAttributes.putIfAbsent(SESSION_COLOR, COLORS[ThreadLocalRandom.current().nextInt(COLORS.length)]);
+
+        return authentication;
+    }
+
+    public static boolean isAuthenticated(Map<String, Object> sessionAttributes) {
+        return sessionAttributes != null && sessionAttributes.containsKey(SESSION_AUTHENTICATION);
+    }
+
+    public static Long getUserId(Map<String, Object> sessionAttributes) {
+        Authentication authentication = (Authentication) sessionAttributes.get(SESSION_AUTHENTICATION);
+        return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+    }
+
+    public static String getNickname(Map<String, Object> sessionAttributes) {
+        return (String) sessionAttributes.get(SESSION_NICKNAME);
+    }
+
+    public static String getColor(Map<String, Object> sessionAttributes) {
+        return (String) sessionAttributes.get(SESSION_COLOR);
+    }
+}
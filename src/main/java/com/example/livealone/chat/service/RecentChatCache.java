@@ -0,0 +1,203 @@
+package com.example.livealone.chat.service;
+
+import com.example.livealone.chat.dto.ChatInitDto;
+import com.example.livealone.chat.entity.ChatMessage;
+import com.example.livealone.chat.repository.ChatMessageRepository;
+import com.example.livealone.global.dto.SocketMessageDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.example.livealone.global.entity.SocketMessageType.RESPONSE_CHAT_INIT;
+
+/**
+ * 방송별 최근 채팅 링 버퍼
+ *
+ * Kafka 로 받은 채팅을 방송별로 최근 {@value #CAPACITY}개까지 보관하고,
+ * REQUEST_CHAT_INIT 응답 JSON 을 미리 만들어 두어 입장할 때 DB 조회와 직렬화 없이 응답합니다.
+ * 스냅샷은 새 메시지가 들어온 뒤 처음 조회될 때 한 번만 다시 만듭니다.
+ * 노드에서 방송을 처음 조회할 때 그 방송의 채팅만 MongoDB 에서 불러와 링 버퍼 앞에 채우고, 같은 채팅 id 는 한 번만 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecentChatCache {
+
+    private static final int CAPACITY = 30;
+    private static final int MAX_BROADCASTS = 16;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, RecentChats> recentChatsByBroadcast = Collections.synchronizedMap(
+            new LinkedHashMap<>(MAX_BROADCASTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, RecentChats> eldest) {
+                    return size() > MAX_BROADCASTS;
+                }
+            });
+
+    public void append(String broadcastKey, ChatInitDto chat) {
+        getRecentChats(broadcastKey).append(chat);
+    }
+
+    /**
+     * REQUEST_CHAT_INIT 응답 JSON 을 반환합니다.
+     * 이 노드에서 해당 방송을 처음 조회할 때만 MongoDB 에서 최근 채팅을 불러옵니다.
+     * @param broadcastKey
+     * @return 직렬화에 실패하면 null
+     */
+    public String getInitReply(String broadcastKey) {
+        RecentChats recentChats = getRecentChats(broadcastKey);
+        if (!recentChats.isSeeded()) {
+            recentChats.seed(() -> loadRecentChats(broadcastKey));
+        }
+
+        return recentChats.getSnapshot();
+    }
+
+    private RecentChats getRecentChats(String broadcastKey) {
+        return recentChatsByBroadcast.computeIfAbsent(broadcastKey, key -> new RecentChats());
+    }
+
+    private List<ChatInitDto> loadRecentChats(String broadcastKey) {
+        List<ChatInitDto> initData = new ArrayList<>();
+        for (ChatMessage chat : chatMessageRepository.findTop30ByBroadcastIdOrderByIdDesc(broadcastKey)) {
+            initData.add(new ChatInitDto(chat.getNickname(), chat.getMessage(), chat.getId()));
+        }
+        Collections.reverse(initData);
+
+        return initData;
+    }
+
+    private String createInitReply(List<ChatInitDto> initData) {
+        try {
+            String messageJSON = objectMapper.writeValueAsString(initData);
+            return objectMapper.writeValueAsString(new SocketMessageDto(RESPONSE_CHAT_INIT, "back-server", messageJSON));
+        } catch (JsonProcessingException e) {
+            log.error(e.getMessage());
+            return null;
+        }
+    }
+
+    private class RecentChats {
+
+        private final ChatInitDto[] ring = new ChatInitDto[CAPACITY];
+        private int next;
+        private int size;
+        private volatile boolean seeded;
+        private volatile String snapshot;
+        private final AtomicReference<CompletableFuture<Void>> seeding = new AtomicReference<>();
+
+        /**
+         * Kafka 로 받은 채팅을 추가합니다. 이미 MongoDB 에서 불러온 채팅이면 건너뜁니다.
+         */
+        synchronized void append(ChatInitDto chat) {
+            if (contains(chat.getChatId())) {
+                return;
+            }
+
+            ring[next] = chat;
+            next = (next + 1) % CAPACITY;
+            size = Math.min(size + 1, CAPACITY);
+            snapshot = null;
+        }
+
+        /**
+         * 링 버퍼보다 오래된 채팅을 앞쪽에 채워 넣습니다.
+         * MongoDB 조회는 락 밖에서 한 스레드만 하고, 동시에 입장한 다른 스레드는 조회가 끝날 때까지 기다렸다가 결과를 같이 사용합니다.
+         * 조회하는 동안에도 append 는 막히지 않으며, 합치는 순간에만 락을 잡습니다.
+         */
+        void seed(Supplier<List<ChatInitDto>> loader) {
+            CompletableFuture<Void> loading = new CompletableFuture<>();
+            CompletableFuture<Void> inProgress = seeding.compareAndExchange(null, loading);
+            if (inProgress != null) {
+                inProgress.join();
+                return;
+            }
+
+            try {
+                merge(loader.get());
+                loading.complete(null);
+            } catch (RuntimeException e) {
+                // 다음 입장 때 다시 불러올 수 있도록 비웁니다.
+                seeding.set(null);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        private synchronized void merge(List<ChatInitDto> loaded) {
+            List<ChatInitDto> merged = new ArrayList<>(CAPACITY * 2);
+            for (ChatInitDto chat : loaded) {
+                if (!contains(chat.getChatId())) {
+                    merged.add(chat);
+                }
+            }
+            merged.addAll(toList());
+            List<ChatInitDto> recent = merged.subList(Math.max(merged.size() - CAPACITY, 0), merged.size());
+
+            next = 0;
+            size = 0;
+            for (ChatInitDto chat : recent) {
+                ring[next++] = chat;
+                size++;
+            }
+            next %= CAPACITY;
+            snapshot = null;
+            seeded = true;
+        }
+
+        private boolean contains(String chatId) {
+            if (chatId == null) {
+                return false;
+            }
+
+            int start = (next - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < size; i++) {
+                if (chatId.equals(ring[(start + i) % CAPACITY].getChatId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isSeeded() {
+            return seeded;
+        }
+
+        String getSnapshot() {
+            String current = snapshot;
+            if (current != null) {
+                return current;
+            }
+
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = createInitReply(toList());
+                }
+                return snapshot;
+            }
+        }
+
+        private List<ChatInitDto> toList() {
+            List<ChatInitDto> chats = new ArrayList<>(size);
+            int start = (next - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < size; i++) {
+                chats.add(ring[(start + i) % CAPACITY]);
+            }
+            return chats;
+        }
+    }
+}
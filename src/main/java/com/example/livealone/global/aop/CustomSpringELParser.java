@@ -1,22 +1,38 @@
 package com.example.livealone.global.aop;
 
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
  * Spring Expression Language Parser
+ *
+ * 파서는 스레드 안전하므로 하나만 두고, 파싱한 Expression 은 호출하는 쪽에서 재사용합니다.
+ * IMMEDIATE 모드라 첫 평가 이후에는 바이트코드로 컴파일된 식이 실행됩니다.
  */
 public class CustomSpringELParser {
 
-    public static Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
-        ExpressionParser parser = new SpelExpressionParser();
+    private static final ExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, CustomSpringELParser.class.getClassLoader()));
+
+    public static Expression parseExpression(String key) {
+        return PARSER.parseExpression(key);
+    }
+
+    public static Object getDynamicValue(String[] parameterNames, Object[] args, Expression expression) {
         StandardEvaluationContext context = new StandardEvaluationContext();
 
         for (int i = 0; i < parameterNames.length; i++) {
             context.setVariable(parameterNames[i], args[i]);
         }
 
-        return parser.parseExpression(key).getValue(context, Object.class);
+        return expression.getValue(context, Object.class);
+    }
+
+    public static Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
+        return getDynamicValue(parameterNames, args, parseExpression(key));
     }
 }
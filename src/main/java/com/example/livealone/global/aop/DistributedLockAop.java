@@ -2,7 +2,9 @@ package com.example.livealone.global.aop;
 
 import com.example.livealone.global.config.RedissonConfig;
 import com.example.livealone.global.exception.CustomException;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -16,42 +18,89 @@ import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 2단계 락
+ * 1. key 별 JVM 내부 락(stripe)에서 같은 노드의 경쟁 스레드를 줄 세우고
+ * 2. 로컬 락을 얻은 스레드만 Redisson 락을 시도하여 Redis 로 가는 락 요청을 줄입니다.
+ * waitTime 은 두 단계를 합친 시간입니다.
+ */
 @Aspect
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class DistributedLockAop {
 
     private static final String REDISSON_LOCK_PREFIX = "LOCK:";
+    private static final int LOCAL_LOCK_STRIPES = 1024;
 
     private final RedissonClient redissonClient;
     private final AopForTransaction aopForTransaction;
     private final MessageSource messageSource;
 
+    private final Map<Method, DistributedLockMetadata> metadataCache = new ConcurrentHashMap<>();
+    private final LocalLockStripes localLockStripes = new LocalLockStripes(LOCAL_LOCK_STRIPES);
+
+    private final Timer localWaitTimer;
+    private final Timer remoteWaitTimer;
+    private final Counter lockFailCounter;
+
+    public DistributedLockAop(RedissonClient redissonClient, AopForTransaction aopForTransaction,
+                              MessageSource messageSource, MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.aopForTransaction = aopForTransaction;
+        this.messageSource = messageSource;
+        this.localWaitTimer = Timer.builder("distributed.lock.wait").tag("tier", "local").register(meterRegistry);
+        this.remoteWaitTimer = Timer.builder("distributed.lock.wait").tag("tier", "remote").register(meterRegistry);
+        this.lockFailCounter = Counter.builder("distributed.lock.failed").register(meterRegistry);
+    }
 
     @Around("@annotation(com.example.livealone.global.aop.DistributedLock)")
     public Object lock(final ProceedingJoinPoint joinPoint) throws Throwable{
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        DistributedLock distributedLock = method.getAnnotation(DistributedLock.class);
+        DistributedLockMetadata metadata = metadataCache.computeIfAbsent(signature.getMethod(), method -> createMetadata(method, signature));
+        DistributedLock distributedLock = metadata.getDistributedLock();
 
-        String key = REDISSON_LOCK_PREFIX + CustomSpringELParser.getDynamicValue(signature.getParameterNames(), joinPoint.getArgs(), distributedLock.key());
+        String key = REDISSON_LOCK_PREFIX + CustomSpringELParser.getDynamicValue(metadata.getParameterNames(), joinPoint.getArgs(), metadata.getKeyExpression());
         RLock rLock = redissonClient.getLock(key);
+        ReentrantLock localLock = localLockStripes.get(key);
+
+        long waitNanos = distributedLock.timeUnit().toNanos(distributedLock.waitTime());
+        long leaseMillis = distributedLock.timeUnit().toMillis(distributedLock.leaseTime());
 
         try {
-            boolean isLocked = rLock.tryLock(distributedLock.waitTime(), distributedLock.leaseTime(), distributedLock.timeUnit());
-            if(isLocked){
-                try{
-                    return aopForTransaction.proceed(joinPoint);
-                }finally {
-                    rLock.unlock();
+            long localStart = System.nanoTime();
+            boolean isLocalLocked = localLock.tryLock(waitNanos, TimeUnit.NANOSECONDS);
+            long localWait = System.nanoTime() - localStart;
+            localWaitTimer.record(localWait, TimeUnit.NANOSECONDS);
+
+            if (isLocalLocked) {
+                boolean isLocked;
+                try {
+                    long remoteStart = System.nanoTime();
+                    isLocked = rLock.tryLock(TimeUnit.NANOSECONDS.toMillis(Math.max(waitNanos - localWait, 0)), leaseMillis, TimeUnit.MILLISECONDS);
+                    remoteWaitTimer.record(System.nanoTime() - remoteStart, TimeUnit.NANOSECONDS);
+                } finally {
+                    // Redis 락 획득 시도가 끝나면 로컬 락은 바로 풀어, 다른 key 가 같은 stripe 에서 비즈니스 로직 동안 막히지 않게 합니다.
+                    localLock.unlock();
+                }
+
+                if(isLocked){
+                    try{
+                        return aopForTransaction.proceed(joinPoint);
+                    }finally {
+                        rLock.unlock();
+                    }
                 }
             }
         } catch (InterruptedException e) {
             throw new InterruptedException();
         }
 
+        lockFailCounter.increment();
         throw new CustomException(messageSource.getMessage(
                 "can.not.get.lock.key",
                 null,
@@ -60,5 +109,14 @@ public class DistributedLockAop {
         ), HttpStatus.NOT_FOUND);
 
     }
-}
 
+    private DistributedLockMetadata createMetadata(Method method, MethodSignature signature) {
+        DistributedLock distributedLock = method.getAnnotation(DistributedLock.class);
+
+        return new DistributedLockMetadata(
+                distributedLock,
+                signature.getParameterNames(),
+                CustomSpringELParser.parseExpression(distributedLock.key())
+        );
+    }
+}
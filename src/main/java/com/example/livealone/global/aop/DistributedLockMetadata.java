@@ -0,0 +1,17 @@
+package com.example.livealone.global.aop;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.expression.Expression;
+
+/**
+ * 메서드별로 한 번만 계산하는 락 정보 (어노테이션, 파라미터 이름, 파싱된 key 식)
+ */
+@Getter
+@RequiredArgsConstructor
+class DistributedLockMetadata {
+
+    private final DistributedLock distributedLock;
+    private final String[] parameterNames;
+    private final Expression keyExpression;
+}
@@ -0,0 +1,29 @@
+package com.example.livealone.global.aop;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락 key 를 해시하여 고정된 개수의 JVM 내부 락 중 하나를 돌려줍니다.
+ * 같은 노드에서 같은 key 를 기다리는 스레드는 여기서 줄을 서고, 맨 앞의 스레드만 Redis 락을 시도합니다.
+ * 로컬 락은 Redis 락 획득 시도 동안만 잡고, 비즈니스 로직 실행 중에는 잡지 않습니다.
+ */
+class LocalLockStripes {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    LocalLockStripes(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(stripeCount - 1, 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    ReentrantLock get(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.livealone.global.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션을 CoalescingWebSocketSessionDecorator 로 감싸는 SubProtocolWebSocketHandler
+ * 세션이 끊길 때 그 세션에서 버리거나 건너뛴 채팅 수를 기록합니다.
+ */
+public class CoalescingSubProtocolWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final Map<String, CoalescingWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    private final Counter droppedCounter;
+    private final Counter coalescedCounter;
+    private final DistributionSummary droppedPerSession;
+    private final DistributionSummary coalescedPerSession;
+
+    public CoalescingSubProtocolWebSocketHandler(MessageChannel clientInboundChannel,
+                                                 SubscribableChannel clientOutboundChannel,
+                                                 MeterRegistry meterRegistry) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.droppedCounter = Counter.builder("websocket.session.frames.dropped")
+                .description("버퍼 상한을 넘어 버린 채팅 프레임 수")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("websocket.session.frames.coalesced")
+                .description("전송이 밀려 건너뛴 채팅 프레임 수")
+                .register(meterRegistry);
+        this.droppedPerSession = DistributionSummary.builder("websocket.session.dropped")
+                .description("세션 하나에서 버린 채팅 프레임 수")
+                .register(meterRegistry);
+        this.coalescedPerSession = DistributionSummary.builder("websocket.session.coalesced")
+                .description("세션 하나에서 건너뛴 채팅 프레임 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        CoalescingWebSocketSessionDecorator decorator = new CoalescingWebSocketSessionDecorator(
+                session, getSendTimeLimit(), getSendBufferSizeLimit(), droppedCounter, coalescedCounter);
+        sessions.put(session.getId(), decorator);
+        return decorator;
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        CoalescingWebSocketSessionDecorator decorator = sessions.remove(session.getId());
+        if (decorator != null) {
+            droppedPerSession.record(decorator.getDropped());
+            coalescedPerSession.record(decorator.getCoalesced());
+        }
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.livealone.global.config;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 전송 버퍼에 상한을 두는 WebSocketSession 데코레이터
+ *
+ * ConcurrentWebSocketSessionDecorator 와 같이 한 번에 한 스레드만 전송하고 나머지는 버퍼에 쌓지만,
+ * 버퍼가 밀리면 느린 세션을 바로 끊지 않고 채팅(CHAT_MESSAGE) 프레임부터 줄입니다.
+ * - 버퍼가 상한의 절반을 넘으면 새 채팅을 {@value #SAMPLE_RATE}개 중 하나만 보냅니다. (coalesced)
+ * - 상한을 넘으면 가장 오래된 채팅부터 버립니다. (dropped)
+ * BROADCAST 등 채팅이 아닌 프레임은 버리지 않으며, 그것만으로 상한을 넘거나 전송 한 번이 sendTimeLimit 을 넘기면 세션을 끊습니다.
+ */
+@Slf4j
+public class CoalescingWebSocketSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final String CHAT_FRAME_MARKER = "\"type\":\"CHAT_MESSAGE\"";
+    private static final int SAMPLE_RATE = 4;
+
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final Counter droppedCounter;
+    private final Counter coalescedCounter;
+
+    private final Deque<WebSocketMessage<?>> buffer = new ArrayDeque<>();
+    private final Lock flushLock = new ReentrantLock();
+
+    private int bufferSize;
+    private int sampleSequence;
+    private long dropped;
+    private long coalesced;
+
+    private volatile long sendStartTime;
+    private volatile boolean closing;
+
+    public CoalescingWebSocketSessionDecorator(WebSocketSession session, int sendTimeLimit, int bufferSizeLimit,
+                                               Counter droppedCounter, Counter coalescedCounter) {
+        super(session);
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.droppedCounter = droppedCounter;
+        this.coalescedCounter = coalescedCounter;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closing) {
+            return;
+        }
+
+        if (!enqueue(message)) {
+            closeNotReliable("버퍼 상한 초과 (" + bufferSizeLimit + " bytes)");
+            return;
+        }
+
+        do {
+            if (!tryFlushBuffer()) {
+                checkSendTime();
+                return;
+            }
+        } while (hasBufferedMessage() && !closing);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closing = true;
+        super.close(status);
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * @return 채팅을 모두 버려도 상한을 넘으면 false
+     */
+    private synchronized boolean enqueue(WebSocketMessage<?> message) {
+        boolean chatFrame = isChatFrame(message);
+        if (chatFrame && bufferSize > bufferSizeLimit / 2 && sampleSequence++ % SAMPLE_RATE != 0) {
+            coalesced++;
+            coalescedCounter.increment();
+            return true;
+        }
+
+        buffer.add(message);
+        bufferSize += message.getPayloadLength();
+        if (bufferSize <= bufferSizeLimit) {
+            return true;
+        }
+
+        Iterator<WebSocketMessage<?>> iterator = buffer.iterator();
+        while (bufferSize > bufferSizeLimit && iterator.hasNext()) {
+            WebSocketMessage<?> buffered = iterator.next();
+            if (isChatFrame(buffered)) {
+                iterator.remove();
+                bufferSize -= buffered.getPayloadLength();
+                dropped++;
+                droppedCounter.increment();
+            }
+        }
+
+        return bufferSize <= bufferSizeLimit;
+    }
+
+    private synchronized WebSocketMessage<?> poll() {
+        WebSocketMessage<?> message = buffer.poll();
+        if (message != null) {
+            bufferSize -= message.getPayloadLength();
+        }
+        return message;
+    }
+
+    private synchronized boolean hasBufferedMessage() {
+        return !buffer.isEmpty();
+    }
+
+    private boolean tryFlushBuffer() throws IOException {
+        if (!flushLock.tryLock()) {
+            return false;
+        }
+
+        try {
+            WebSocketMessage<?> message;
+            while (!closing && (message = poll()) != null) {
+                sendStartTime = System.currentTimeMillis();
+                getDelegate().sendMessage(message);
+                sendStartTime = 0;
+            }
+        } finally {
+            sendStartTime = 0;
+            flushLock.unlock();
+        }
+        return true;
+    }
+
+    private void checkSendTime() throws IOException {
+        long startTime = sendStartTime;
+        if (startTime > 0 && System.currentTimeMillis() - startTime > sendTimeLimit) {
+            closeNotReliable("전송 시간 초과 (" + sendTimeLimit + " ms)");
+        }
+    }
+
+    private void closeNotReliable(String reason) throws IOException {
+        if (closing) {
+            return;
+        }
+        log.debug("느린 세션 종료 sessionId : {}, {}", getId(), reason);
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private boolean isChatFrame(WebSocketMessage<?> message) {
+        return message instanceof TextMessage textMessage && textMessage.getPayload().contains(CHAT_FRAME_MARKER);
+    }
+}
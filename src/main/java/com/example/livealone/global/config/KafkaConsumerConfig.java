@@ -1,6 +1,7 @@
 package com.example.livealone.global.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -23,19 +24,51 @@ import java.util.Map;
 @EnableKafka
 public class KafkaConsumerConfig {
 
+    public static final String CHAT_BATCH_LISTENER_FACTORY = "chatBatchListenerContainerFactory";
+    public static final String RECENT_CHAT_LISTENER_FACTORY = "recentChatListenerContainerFactory";
+
     @Value("${spring.kafka.consumer.bootstrap-servers}")
     private String bootstrapServer;
 
+    @Value("${chat.kafka.concurrency:1}")
+    private int chatConcurrency;
+
+    @Value("${chat.kafka.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${chat.kafka.group-id:chat-group1}")
+    private String groupId;
+
+    @Value("${chat.kafka.instance-id:${random.uuid}}")
+    private String instanceId;
+
+    @Value("${chat.websocket.broker:simple}")
+    private String brokerMode;
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
-        Map<String, Object> config = new HashMap<>();
-
-        //Consumer사용에 필요한 기본 설정들
-        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServer);
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        Map<String, Object> config = createConsumerConfig();
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.GROUP_ID_CONFIG, "chat-group1");
-        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * 채팅 메시지는 STOMP 프레임 body 로 그대로 전달하기 위해 byte[] 로 받습니다.
+     *
+     * SimpleBroker 를 쓰면 시청자가 각 노드에 나뉘어 붙어 있으므로 노드마다 고유한 group id 로 모든 채팅을 받고,
+     * 재시작한 노드는 지난 채팅을 다시 보내지 않도록 latest 부터 읽습니다.
+     * 외부 브로커(relay)를 쓰면 /topic 구독자 모두에게 브로커가 전달하므로(fan-out) group 을 공유해 한 번만 발행합니다.
+     * 이는 채팅 destination 이 /topic 일 때만 성립합니다. /queue 는 외부 브로커에서 경쟁 소비자로 처리되어 한 명에게만 전달됩니다.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> chatConsumerFactory() {
+        Map<String, Object> config = createConsumerConfig();
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        if (!isRelayMode()) {
+            config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-" + instanceId);
+            config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        }
 
         return new DefaultKafkaConsumerFactory<>(config);
     }
@@ -46,4 +79,55 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
+
+    /**
+     * 채팅 전용 배치 리스너
+     * poll 한 번에 가져온 메시지를 List 로 받아 한 번에 처리합니다.
+     */
+    @Bean(CHAT_BATCH_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> chatBatchListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(chatConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(chatConcurrency);
+        return factory;
+    }
+
+    /**
+     * 최근 채팅 버퍼(RecentChatCache) 전용 배치 리스너
+     *
+     * relay 모드에서는 채팅 group 을 공유하므로 각 노드가 일부 방송의 채팅만 받습니다.
+     * 입장 응답은 노드마다 따로 만들기 때문에, 노드마다 고유한 group id 로 모든 채팅을 latest 부터 받아 버퍼만 채웁니다.
+     * simple 모드에서는 채팅 리스너가 이미 모든 채팅을 받으므로 시작하지 않습니다.
+     */
+    @Bean(RECENT_CHAT_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> recentChatListenerContainerFactory() {
+        Map<String, Object> config = createConsumerConfig();
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-recent-" + instanceId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setBatchListener(true);
+        factory.setAutoStartup(isRelayMode());
+        return factory;
+    }
+
+    public boolean isRelayMode() {
+        return WebSocketConfig.BROKER_RELAY.equals(brokerMode);
+    }
+
+    private Map<String, Object> createConsumerConfig() {
+        Map<String, Object> config = new HashMap<>();
+
+        //Consumer사용에 필요한 기본 설정들
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServer);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        return config;
+    }
 }
@@ -18,6 +18,15 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.producer.bootstrap-servers}")
     private String bootstrapServer;
 
+    @Value("${chat.kafka.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${chat.kafka.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${chat.kafka.compression-type:lz4}")
+    private String compressionType;
+
     @Bean
     public ProducerFactory<String, String> producerFactory() {
 
@@ -28,6 +37,11 @@ public class KafkaProducerConfig {
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
 
+        // 채팅은 건수가 많으므로 잠깐 모아서 압축한 뒤 한 번에 보냅니다.
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
         return new DefaultKafkaProducerFactory<>(config);
     }
 
@@ -22,6 +22,8 @@ public class RedissonConfig {
     @Bean
     public RedissonClient redissonClient() {
         Config config = new Config();
+        // Lua 스크립트를 EVALSHA 로 호출하여 매번 스크립트 본문을 전송하지 않습니다.
+        config.setUseScriptCache(true);
         config.useSingleServer()
                 .setAddress(REDISSON_PREFIX + redisHost + ":" + redisPort);
 
@@ -1,13 +1,57 @@
 package com.example.livealone.global.config;
 
+import com.example.livealone.chat.service.ChatSessionAuthenticator;
+import com.example.livealone.global.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 
+/**
+ * STOMP 인바운드 인터셉터
+ *
+ * CONNECT 프레임의 Authorization 헤더로 세션을 한 번 인증하고,
+ * 인증되지 않은 세션이 채팅(/pub/send)을 보내면 컨트롤러까지 가지 않고 버립니다.
+ * 토큰 없이 연결한 세션도 채팅을 구독하는 것은 가능합니다.
+ */
 @Configuration
 @Slf4j
 @RequiredArgsConstructor
 public class StompHandler implements ChannelInterceptor {
 
+    private static final String SEND_DESTINATION = "/pub/send";
+
+    private final ChatSessionAuthenticator chatSessionAuthenticator;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            Authentication authentication = chatSessionAuthenticator.authenticate(
+                    accessor.getFirstNativeHeader(JwtService.HEADER), accessor.getSessionAttributes());
+            if (authentication != null) {
+                accessor.setUser(authentication);
+            }
+            return message;
+        }
+
+        if (StompCommand.SEND.equals(accessor.getCommand())
+                && SEND_DESTINATION.equals(accessor.getDestination())
+                && !ChatSessionAuthenticator.isAuthenticated(accessor.getSessionAttributes())) {
+            log.debug("인증되지 않은 세션의 채팅 sessionId : {}", accessor.getSessionId());
+            return null;
+        }
+
+        return message;
+    }
 }
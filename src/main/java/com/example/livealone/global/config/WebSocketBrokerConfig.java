@@ -0,0 +1,30 @@
+package com.example.livealone.global.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+/**
+ * @EnableWebSocketMessageBroker 대신 사용하는 브로커 설정
+ * 나머지 설정은 WebSocketConfig(WebSocketMessageBrokerConfigurer) 를 그대로 따르고,
+ * 세션 전송 버퍼만 CoalescingSubProtocolWebSocketHandler 로 바꿉니다.
+ */
+@Configuration
+public class WebSocketBrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketBrokerConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new CoalescingSubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel, meterRegistry);
+    }
+}
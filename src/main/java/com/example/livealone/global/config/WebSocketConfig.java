@@ -2,22 +2,91 @@ package com.example.livealone.global.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
 
+/**
+ * STOMP 브로커 설정
+ *
+ * chat.websocket.broker 값으로 브로커를 선택합니다.
+ * - simple : 서버 안의 SimpleBroker (기본값, 로컬 / 테스트용)
+ * - relay  : 외부 STOMP 브로커(RabbitMQ 등)로 relay, 시청자 연결을 여러 노드로 나눌 수 있습니다.
+ * 어느 모드든 clientInbound / clientOutbound 스레드 풀과 세션별 전송 제한을 설정할 수 있어,
+ * 느린 클라이언트 하나가 방송 전체 전송을 막지 않습니다.
+ * 브로커 설정 자체는 WebSocketBrokerConfig 에서 등록합니다.
+ *
+ * 모든 시청자에게 보내는 메시지(채팅, 방송 상태, 스트림 키)는 /topic 으로 보냅니다.
+ * RabbitMQ 같은 외부 브로커는 /queue 구독자들을 경쟁 소비자로 묶어 한 명에게만 전달하므로, /queue 는 세션 전용(/user/queue/..) 응답에만 씁니다.
+ */
 @Configuration
-@EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    public static final String BROKER_RELAY = "relay";
+    public static final String TOPIC_PREFIX = "/topic";
+    public static final String QUEUE_PREFIX = "/queue";
+
     private final StompHandler stompHandler;
 
+    @Value("${chat.websocket.broker:simple}")
+    private String brokerMode;
+
+    @Value("${chat.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${chat.websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${chat.websocket.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${chat.websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.websocket.outbound.core-pool-size:16}")
+    private int outboundCorePoolSize;
+
+    @Value("${chat.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${chat.websocket.outbound.queue-capacity:50000}")
+    private int outboundQueueCapacity;
+
+    @Value("${chat.websocket.send-time-limit:10000}")
+    private int sendTimeLimit;
+
+    @Value("${chat.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/pub"); // 메시지 발행
-        registry.enableSimpleBroker("/queue");
+        if (BROKER_RELAY.equals(brokerMode)) {
+            registry.enableStompBrokerRelay(TOPIC_PREFIX, QUEUE_PREFIX)
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            registry.enableSimpleBroker(TOPIC_PREFIX, QUEUE_PREFIX);
+        }
         registry.setUserDestinationPrefix("/user"); // 각 세션 전용
     }
 
@@ -29,5 +98,28 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompHandler);
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    /**
+     * 세션별 전송 제한
+     * 한 세션의 전송이 send-time-limit 을 넘기거나 버퍼가 send-buffer-size-limit 을 넘으면 해당 세션을 끊습니다.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
     }
 }
@@ -10,6 +10,7 @@ public enum SocketMessageType {
 
     ERROR,
     BROADCAST,
+    BROADCAST_STATE,
 
     // FRONTEND
     RESPONSE_AUTH,
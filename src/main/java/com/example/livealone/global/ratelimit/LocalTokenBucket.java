@@ -0,0 +1,33 @@
+package com.example.livealone.global.ratelimit;
+
+/**
+ * 노드 로컬 토큰 버킷
+ * period 동안 permits 개의 토큰이 고르게 채워지고, 최대 permits 개까지 쌓입니다.
+ */
+class LocalTokenBucket {
+
+  private final double capacity;
+  private final double refillPerNano;
+
+  private double tokens;
+  private long lastRefillTime;
+
+  LocalTokenBucket(long permits, long periodNanos) {
+    this.capacity = permits;
+    this.refillPerNano = (double) permits / periodNanos;
+    this.tokens = permits;
+    this.lastRefillTime = System.nanoTime();
+  }
+
+  synchronized boolean tryAcquire() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - lastRefillTime) * refillPerNano);
+    lastRefillTime = now;
+
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.livealone.global.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 요청 제한 정책
+ * 설정 key : rate-limit.{endpoint}.{scope}.permits / period-seconds
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitPolicy {
+  CHAT_SEND_USER("chat-send", "user", 5, 1),
+  CHAT_SEND_BROADCAST("chat-send", "broadcast", 500, 1),
+  ORDER_USER("order", "user", 5, 10),
+  ORDER_BROADCAST("order", "broadcast", 200, 1);
+
+  private final String endpoint;
+  private final String scope;
+  private final long defaultPermits;
+  private final long defaultPeriodSeconds;
+}
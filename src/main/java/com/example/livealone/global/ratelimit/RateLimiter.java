@@ -0,0 +1,133 @@
+package com.example.livealone.global.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 토큰 버킷 요청 제한
+ *
+ * 1. 노드 로컬 버킷에서 먼저 확인하여, 한 노드로 몰리는 요청은 Redis 를 거치지 않고 거절합니다.
+ * 2. 통과하면 Redisson RRateLimiter 로 전체 노드 기준 한도를 확인합니다.
+ * Redis 에 장애가 있으면 로컬 버킷 결과만 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+  public final static String REDIS_RATE_LIMIT_KEY = "RateLimiter::";
+
+  private static final Duration LOCAL_EXPIRE = Duration.ofMinutes(10);
+  private static final Duration REDIS_EXPIRE = Duration.ofMinutes(30);
+
+  private final RedissonClient redissonClient;
+  private final MeterRegistry meterRegistry;
+  private final Environment environment;
+
+  private final Map<RateLimitPolicy, Long> permitsByPolicy = new EnumMap<>(RateLimitPolicy.class);
+  private final Map<RateLimitPolicy, Long> periodSecondsByPolicy = new EnumMap<>(RateLimitPolicy.class);
+
+  private final Cache<String, LocalTokenBucket> localBuckets = Caffeine.newBuilder()
+      .maximumSize(100_000)
+      .expireAfterAccess(LOCAL_EXPIRE)
+      .build();
+
+  // 로컬 캐시가 만료되어 다시 만들 때마다 Redis key 의 만료 시간을 연장합니다.
+  private final Cache<String, GlobalLimiter> globalLimiters = Caffeine.newBuilder()
+      .maximumSize(100_000)
+      .expireAfterWrite(LOCAL_EXPIRE)
+      .build();
+
+  @PostConstruct
+  public void init() {
+    for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+      String prefix = "rate-limit." + policy.getEndpoint() + "." + policy.getScope();
+      permitsByPolicy.put(policy, environment.getProperty(prefix + ".permits", Long.class, policy.getDefaultPermits()));
+      periodSecondsByPolicy.put(policy, environment.getProperty(prefix + ".period-seconds", Long.class, policy.getDefaultPeriodSeconds()));
+    }
+  }
+
+  /**
+   * @param policy 요청 제한 정책
+   * @param key 사용자 id, 방송 id 등
+   * @return 한도 안이면 true
+   */
+  public boolean tryAcquire(RateLimitPolicy policy, String key) {
+    String name = policy.getEndpoint() + ":" + policy.getScope() + ":" + key;
+    long permits = permitsByPolicy.get(policy);
+    long periodSeconds = periodSecondsByPolicy.get(policy);
+
+    LocalTokenBucket localBucket = localBuckets.get(name,
+        k -> new LocalTokenBucket(permits, TimeUnit.SECONDS.toNanos(periodSeconds)));
+    if (!localBucket.tryAcquire()) {
+      reject(policy, "local");
+      return false;
+    }
+
+    try {
+      GlobalLimiter limiter = globalLimiters.get(name, k -> createGlobalLimiter(k, permits, periodSeconds));
+      if (!limiter.tryAcquire()) {
+        reject(policy, "global");
+        return false;
+      }
+    } catch (Exception e) {
+      log.error("요청 제한 확인 실패 {} : {}", name, e.getMessage());
+      globalLimiters.invalidate(name);
+    }
+
+    return true;
+  }
+
+  private GlobalLimiter createGlobalLimiter(String name, long permits, long periodSeconds) {
+    RRateLimiter limiter = redissonClient.getRateLimiter(REDIS_RATE_LIMIT_KEY + name);
+    limiter.trySetRate(RateType.OVERALL, permits, periodSeconds, RateIntervalUnit.SECONDS);
+    return new GlobalLimiter(limiter);
+  }
+
+  /**
+   * Redisson 은 {name}:value, {name}:permits key 를 첫 tryAcquire 에서 만듭니다.
+   * 만든 뒤 처음 확인할 때 만료 시간을 설정해야 모든 key 에 만료 시간이 붙습니다.
+   */
+  private static class GlobalLimiter {
+
+    private final RRateLimiter limiter;
+    private final AtomicBoolean expireSet = new AtomicBoolean();
+
+    GlobalLimiter(RRateLimiter limiter) {
+      this.limiter = limiter;
+    }
+
+    boolean tryAcquire() {
+      boolean acquired = limiter.tryAcquire();
+      if (expireSet.compareAndSet(false, true)) {
+        limiter.expire(REDIS_EXPIRE);
+      }
+      return acquired;
+    }
+  }
+
+  private void reject(RateLimitPolicy policy, String tier) {
+    Counter.builder("rate.limit.rejected")
+        .tag("endpoint", policy.getEndpoint())
+        .tag("scope", policy.getScope())
+        .tag("tier", tier)
+        .register(meterRegistry)
+        .increment();
+  }
+}
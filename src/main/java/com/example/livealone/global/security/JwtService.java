@@ -1,9 +1,21 @@
 package com.example.livealone.global.security;
 
 import com.example.livealone.user.entity.User;
+import com.example.livealone.user.entity.UserRole;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +24,8 @@ import org.springframework.util.StringUtils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -22,6 +36,7 @@ import jakarta.servlet.http.HttpServletRequest;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class JwtService {
 
 	public static final String HEADER = "Authorization";
@@ -31,6 +46,7 @@ public class JwtService {
 	public static final String CLAIM_ID = "id";
 	public static final String CLAIM_USERNAME = "username";
 	public static final String CLAIM_NICKNAME = "nickname";
+	public static final String CLAIM_ROLE = "role";
 
 	@Value("${jwt.key}")
 	private String SECRET_KEY;
@@ -38,26 +54,74 @@ public class JwtService {
 	@Value("${jwt.access-expire-time}")
 	private Long EXPIRE_TIME;
 
+	@Value("${jwt.cache.maximum-size:10000}")
+	private long cacheMaximumSize;
+
+	private final MeterRegistry meterRegistry;
+
 	private Key key;
 
+	// JwtParser 는 불변이라 스레드간 공유가 가능하므로 한 번만 만듭니다.
+	private JwtParser parser;
+
+	/**
+	 * 검증이 끝난 토큰의 값 캐시 (토큰 SHA-256 -> TokenClaims)
+	 * 항목은 토큰의 exp 시각에 만료되므로 만료된 토큰이 캐시로 통과하지 않습니다.
+	 */
+	private Cache<String, TokenClaims> claimsCache;
+
+	private Counter cacheHitCounter;
+	private Counter cacheMissCounter;
+
 	@PostConstruct
 	public void init() {
 
 		byte[] bytes = Base64.getDecoder().decode(SECRET_KEY);
 		key = Keys.hmacShaKeyFor(bytes);
+		parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+		claimsCache = Caffeine.newBuilder()
+			.maximumSize(cacheMaximumSize)
+			.expireAfter(new Expiry<String, TokenClaims>() {
+				@Override
+				public long expireAfterCreate(String tokenHash, TokenClaims claims, long currentTime) {
+					return TimeUnit.MILLISECONDS.toNanos(
+						Math.max(claims.expiration() - System.currentTimeMillis(), 0));
+				}
+
+				@Override
+				public long expireAfterUpdate(String tokenHash, TokenClaims claims, long currentTime, long currentDuration) {
+					return currentDuration;
+				}
+
+				@Override
+				public long expireAfterRead(String tokenHash, TokenClaims claims, long currentTime, long currentDuration) {
+					return currentDuration;
+				}
+			})
+			.build();
+		cacheHitCounter = Counter.builder("jwt.claims.cache").tag("result", "hit").register(meterRegistry);
+		cacheMissCounter = Counter.builder("jwt.claims.cache").tag("result", "miss").register(meterRegistry);
 
 	}
 
 	public String generateToken(User user) {
 
+		return generateToken(user.getId(), user.getEmail(), user.getUsername(), user.getNickname(), user.getRole());
+
+	}
+
+	public String generateToken(Long id, String email, String username, String nickname, UserRole role) {
+
 		Date curDate = new Date();
 		Date expireDate = new Date(curDate.getTime() + EXPIRE_TIME);
 
 		return TOKEN_PREFIX + Jwts.builder()
-			.setSubject(user.getEmail())
-			.claim(CLAIM_ID, user.getId())
-			.claim(CLAIM_USERNAME, user.getUsername())
-			.claim(CLAIM_NICKNAME, user.getNickname())
+			.setSubject(email)
+			.claim(CLAIM_ID, id)
+			.claim(CLAIM_USERNAME, username)
+			.claim(CLAIM_NICKNAME, nickname)
+			.claim(CLAIM_ROLE, role.name())
 			.setIssuedAt(curDate)
 			.setExpiration(expireDate)
 			.signWith(key, SignatureAlgorithm.HS256)
@@ -67,9 +131,20 @@ public class JwtService {
 
 	public boolean isValidToken(String token, HttpServletRequest request) {
 
+		return getValidClaims(token, request) != null;
+
+	}
+
+	/**
+	 * 토큰을 한 번만 파싱하여 검증과 Claims 추출을 같이 처리합니다.
+	 * @param token
+	 * @param request 검증 실패 사유를 error attribute 로 남깁니다.
+	 * @return 유효하지 않으면 null
+	 */
+	public TokenClaims getValidClaims(String token, HttpServletRequest request) {
+
 		try {
-			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-			return true;
+			return parseClaims(token);
 		} catch (SecurityException | MalformedJwtException | io.jsonwebtoken.security.SignatureException e) {
 			request.setAttribute("error", "Invalid JWT signature, 유효하지 않는 JWT 서명 입니다.");
 		} catch (ExpiredJwtException e) {
@@ -80,13 +155,27 @@ public class JwtService {
 			request.setAttribute("error", "JWT claims is empty, 잘못된 JWT 토큰 입니다.");
 		}
 
-		return false;
+		return null;
+
+	}
+
+	/**
+	 * @param token
+	 * @return 유효하지 않으면 null, 실패 사유는 isValidToken(String) 으로 확인합니다.
+	 */
+	public TokenClaims getValidClaims(String token) {
+
+		try {
+			return parseClaims(token);
+		} catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
 
 	}
 
 	public String isValidToken(String token){
 		try{
-			Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+			parser.parseClaimsJws(token);
 			return "Valid";
 		}catch (SecurityException | MalformedJwtException | io.jsonwebtoken.security.SignatureException e) {
 			log.debug("error :", "Invalid JWT signature, 유효하지 않는 JWT 서명 입니다.");
@@ -114,9 +203,58 @@ public class JwtService {
 
 	}
 
-	public Claims getClaims(String token) {
+	public TokenClaims getClaims(String token) {
+
+		return parseClaims(token);
+
+	}
+
+	/**
+	 * 캐시에 있으면 서명 검증과 파싱 없이 반환하고, 없으면 검증 후 캐시에 넣습니다.
+	 * 검증에 실패한 토큰은 캐시하지 않습니다.
+	 */
+	private TokenClaims parseClaims(String token) {
+
+		String tokenHash = hash(token);
+		TokenClaims claims = claimsCache.getIfPresent(tokenHash);
+		if (claims != null) {
+			cacheHitCounter.increment();
+			return claims;
+		}
+
+		cacheMissCounter.increment();
+		claims = toTokenClaims(parser.parseClaimsJws(token).getBody());
+		if (claims.expiration() != null) {
+			claimsCache.put(tokenHash, claims);
+		}
+		return claims;
 
-		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+	}
+
+	private TokenClaims toTokenClaims(Claims claims) {
+
+		String role = claims.get(CLAIM_ROLE, String.class);
+		Date expiration = claims.getExpiration();
+
+		return new TokenClaims(
+			claims.getSubject(),
+			claims.get(CLAIM_ID, Long.class),
+			claims.get(CLAIM_USERNAME, String.class),
+			claims.get(CLAIM_NICKNAME, String.class),
+			role == null ? null : UserRole.valueOf(role),
+			expiration == null ? null : expiration.getTime()
+		);
+
+	}
+
+	private String hash(String token) {
+
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 
 	}
 
@@ -0,0 +1,13 @@
+package com.example.livealone.global.security;
+
+import com.example.livealone.user.entity.UserRole;
+
+/**
+ * 검증이 끝난 Access Token 에서 꺼낸 값
+ *
+ * 캐시에 넣어 여러 요청 스레드가 같은 객체를 공유하므로, 변경 가능한 jjwt Claims 대신 불변 record 로 보관합니다.
+ * @param subject 이메일
+ * @param expiration exp (epoch millis), 없으면 null
+ */
+public record TokenClaims(String subject, Long id, String username, String nickname, UserRole role, Long expiration) {
+}
@@ -5,23 +5,61 @@ import com.example.livealone.user.entity.UserRole;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+/**
+ * 인증된 사용자 정보
+ *
+ * JWT 로 인증된 요청도 토큰의 id 로 UserCache 에서 꺼낸 User 로 만들어지므로,
+ * 관리자 권한 부여나 회수가 토큰 만료를 기다리지 않고 캐시가 비워지는 즉시 반영됩니다.
+ * 캐시된 User 는 준영속 상태이므로 수정하지 말고 연관관계 설정에만 사용합니다.
+ */
 @Getter
-@RequiredArgsConstructor
 public class UserDetailsImpl implements UserDetails, OAuth2User {
 
+	private final Long id;
+	private final String email;
+	private final String username;
+	private final String nickname;
+	private final UserRole role;
+
+	@Getter(AccessLevel.NONE)
 	private final User user;
 
+	public UserDetailsImpl(User user) {
+
+		this.id = user.getId();
+		this.email = user.getEmail();
+		this.username = user.getUsername();
+		this.nickname = user.getNickname();
+		this.role = user.getRole();
+		this.user = user;
+
+	}
+
+	public User getUser() {
+
+		return user;
+
+	}
+
+	/**
+	 * 연관관계 설정용 User, 캐시된 User 를 그대로 사용하므로 SELECT 하지 않습니다.
+	 */
+	public User getUserReference() {
+
+		return user;
+
+	}
+
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 
-		UserRole role = user.getRole();
 		String authority = role.getAuthority();
 
 		SimpleGrantedAuthority simpleGrantedAuthority = new SimpleGrantedAuthority(authority);
@@ -48,14 +86,14 @@ public class UserDetailsImpl implements UserDetails, OAuth2User {
 	@Override
 	public String getUsername() {
 
-		return user.getEmail();
+		return email;
 
 	}
 
 	@Override
 	public String getName() {
 
-		return user.getUsername();
+		return username;
 
 	}
 
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import com.example.livealone.global.exception.CustomException;
 import com.example.livealone.user.entity.User;
 import com.example.livealone.user.repository.UserRepository;
+import com.example.livealone.user.service.UserCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,11 +22,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
 	private final UserRepository userRepository;
 	private final MessageSource messageSource;
+	private final UserCache userCache;
 
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
-		User user = userRepository.findByEmail(email)
+		User user = userCache.getByEmail(email, this::loadUserByEmail);
+
+		return new UserDetailsImpl(user);
+
+	}
+
+	private User loadUserByEmail(String email) {
+
+		return userRepository.findByEmail(email)
 			.orElseThrow(() -> new CustomException(messageSource.getMessage(
 				"user.not.found",
 				null,
@@ -33,8 +43,37 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 				Locale.getDefault()
 			), HttpStatus.NOT_FOUND));
 
+	}
+
+	/**
+	 * 토큰의 id 로 UserCache 에서 User 를 꺼내 UserDetails 를 만드는 메서드
+	 * 권한은 토큰의 role claim 이 아니라 User 의 현재 권한을 사용합니다.
+	 * @param claims 검증된 토큰의 값
+	 * @return 탈퇴 등으로 사용자가 없으면 null
+	 */
+	public UserDetailsImpl loadUserByClaims(TokenClaims claims) {
+
+		User user;
+		try {
+			user = userCache.getById(claims.id(), this::loadUserById);
+		} catch (CustomException e) {
+			return null;
+		}
+
 		return new UserDetailsImpl(user);
 
 	}
 
+	private User loadUserById(Long id) {
+
+		return userRepository.findById(id)
+			.orElseThrow(() -> new CustomException(messageSource.getMessage(
+				"user.not.found",
+				null,
+				CustomException.DEFAULT_ERROR_MESSAGE,
+				Locale.getDefault()
+			), HttpStatus.NOT_FOUND));
+
+	}
+
 }
@@ -11,9 +11,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.example.livealone.global.security.JwtService;
+import com.example.livealone.global.security.TokenClaims;
 import com.example.livealone.global.security.UserDetailsServiceImpl;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,10 +34,10 @@ public class JwtAuthentication extends OncePerRequestFilter {
 		String token = jwtService.getToken(request);
 		log.debug("token : {}",token);
 		if(token != null) {
-			if(jwtService.isValidToken(token, request)) {
+			TokenClaims claims = jwtService.getValidClaims(token, request);
+			if(claims != null) {
 				log.debug("validToken");
-				Claims claims = jwtService.getClaims(token);
-				setAuthentication(claims.getSubject());
+				setAuthentication(claims);
 			}
 		}
 
@@ -45,9 +45,15 @@ public class JwtAuthentication extends OncePerRequestFilter {
 
 	}
 
-	private void setAuthentication(String email) {
+	/**
+	 * 토큰의 Claims 로 인증 정보를 만듭니다. 사용자가 없으면 인증하지 않습니다.
+	 */
+	private void setAuthentication(TokenClaims claims) {
 
-		UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+		UserDetails userDetails = userDetailsService.loadUserByClaims(claims);
+		if (userDetails == null) {
+			return;
+		}
 		Authentication authentication =
 			new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -37,7 +37,7 @@ public class OrderController {
         @RequestBody OrderRequestDto orderRequestDto
     ) {
 
-        User user = userDetails.getUser();
+        User user = userDetails.getUserReference();
 
         OrderResponseDto orderResponseDto = orderService.createOrder(productId, broadcastId, user, orderRequestDto);
 
@@ -69,28 +69,4 @@ public class OrderController {
 
         return ResponseEntity.ok().body(commonResponseDto);
     }
-
-    /**
-     * 결제 페이지에 10분이상 머무를 때 생성되었던 Order를 삭제하고 상품 재고를 복구하는 API
-     * @param productId
-     * @param userDetails
-     * @return
-     */
-    @DeleteMapping("/order/product/{productId}")
-    public ResponseEntity<CommonResponseDto<Void>> deleteOrder(
-            @PathVariable("productId") Long productId,
-            @AuthenticationPrincipal UserDetailsImpl userDetails
-    ) {
-        User user = userDetails.getUser();
-
-        orderService.checkTimeExpired(user, productId);
-
-        CommonResponseDto<Void> commonResponseDto = CommonResponseDto.<Void>builder()
-                .status(HttpStatus.OK.value())
-                .message("delete order successfully")
-                .data(null)
-                .build();
-
-        return ResponseEntity.ok().body(commonResponseDto);
-    }
 }
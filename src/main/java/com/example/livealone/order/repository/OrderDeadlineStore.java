@@ -0,0 +1,78 @@
+package com.example.livealone.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 대기 주문 만료 시각 저장소
+ *
+ * Redis sorted set(OrderDeadline) 에 주문 id 를 만료 시각(epoch ms)을 score 로 저장합니다.
+ * 만료된 주문은 Lua 스크립트 한 번으로 꺼내면서 score 를 lease 시각으로 미루므로, 여러 노드의 스케쥴러가 같은 주문을 동시에 처리하지 않습니다.
+ * 처리가 끝난 주문은 커밋 후 {@link #removeAll(Collection)} 으로 지우고, 처리 중 노드가 죽거나 실패하면 lease 가 끝난 뒤 다시 꺼내집니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderDeadlineStore {
+
+    public static final String REDIS_DEADLINE_KEY = "OrderDeadline";
+
+    // KEYS[1] : 만료 시각 sorted set, ARGV : 현재 시각, 최대 개수, lease 만료 시각
+    private static final String CLAIM_SCRIPT =
+            "local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "for _, id in ipairs(ids) do redis.call('ZADD', KEYS[1], ARGV[3], id) end " +
+            "return ids";
+
+    private final RedissonClient redissonClient;
+
+    @Value("${order.expiry.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${order.expiry.lease-ms:30000}")
+    private long leaseMillis;
+
+    public void add(Long orderId) {
+        getDeadlines().add(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes), String.valueOf(orderId));
+    }
+
+    /**
+     * 결제가 끝났거나 주문이 삭제되어 더 이상 만료 처리가 필요 없는 주문을 지웁니다.
+     */
+    public void remove(Long orderId) {
+        getDeadlines().remove(String.valueOf(orderId));
+    }
+
+    /**
+     * 처리가 끝난 주문들을 한 번에 지웁니다.
+     */
+    public void removeAll(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        getDeadlines().removeAll(orderIds.stream().map(String::valueOf).toList());
+    }
+
+    /**
+     * 만료 시각이 지난 주문을 최대 limit 개 꺼냅니다.
+     * 꺼낸 주문은 지우지 않고 lease 동안 다른 스케쥴러가 꺼내지 못하게 score 만 미룹니다.
+     */
+    public List<Long> claimExpired(long now, int limit) {
+        RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+        List<String> ids = script.eval(RScript.Mode.READ_WRITE, CLAIM_SCRIPT, RScript.ReturnType.MULTI,
+                List.<Object>of(REDIS_DEADLINE_KEY), String.valueOf(now), String.valueOf(limit), String.valueOf(now + leaseMillis));
+
+        return ids.stream().map(Long::valueOf).toList();
+    }
+
+    private RScoredSortedSet<String> getDeadlines() {
+        return redissonClient.getScoredSortedSet(REDIS_DEADLINE_KEY, StringCodec.INSTANCE);
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.livealone.order.repository;
 
 import com.example.livealone.order.entity.Order;
+import com.example.livealone.payment.entity.PaymentStatus;
 import com.example.livealone.user.entity.User;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,4 +19,23 @@ public interface OrderRepository extends JpaRepository<Order,Long>, OrderReposit
     @Query("SELECT o FROM Order o JOIN FETCH o.product WHERE o.id = :orderId")
     Optional<Order> findByIdWithProduct(@Param("orderId") Long orderId);
 
+    /**
+     * 주문 행만 잠급니다. 상품을 함께 fetch 하면 상품 행까지 잠기므로 product 는 id 만 사용합니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :orderIds")
+    List<Order> findAllForUpdateByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 결제가 완료되지 않은 주문 수량의 합, 즉 아직 예약 중인 재고 수량을 반환합니다.
+     * 미결제 주문은 만료되거나 결제에 실패하면 삭제되므로, 남아 있는 주문 중 완료된 결제가 없는 주문만 더합니다.
+     */
+    @Query("SELECT COALESCE(SUM(o.quantity), 0) FROM Order o WHERE o.product.id = :productId "
+            + "AND NOT EXISTS (SELECT p FROM Payment p WHERE p.order = o AND p.status = :completed)")
+    long sumReservedQuantityByProductId(@Param("productId") Long productId, @Param("completed") PaymentStatus completed);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :orderIds")
+    int deleteAllByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
 }
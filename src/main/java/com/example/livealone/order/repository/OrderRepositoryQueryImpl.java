@@ -4,10 +4,6 @@ import com.example.livealone.admin.dto.AdminConsumerResponseDto;
 import com.example.livealone.admin.mapper.AdminMapper;
 import com.example.livealone.order.entity.Order;
 import com.example.livealone.order.entity.QOrder;
-import com.example.livealone.product.entity.QProduct;
-import com.example.livealone.user.entity.QUser;
-import com.example.livealone.user.entity.User;
-import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -40,23 +36,6 @@ public class OrderRepositoryQueryImpl implements OrderRepositoryQuery {
         return (long) sum;
     }
 
-    @Override
-    public Order findCurrentOrderByUserAndProduct(User user, Long productId) {
-
-        QProduct qProduct = QProduct.product;
-        QUser qUser = QUser.user;
-        QOrder qOrder = QOrder.order;
-        OrderSpecifier<?> orderSpecifier = new OrderSpecifier<>(com.querydsl.core.types.Order.DESC, qOrder.id);
-        return jpaQueryFactory
-                .select(qOrder)
-                .from(qOrder)
-                .where(qOrder.user.eq(user).and(qOrder.product.id.eq(productId)))
-                .leftJoin(qUser).on(qOrder.user.eq(user)).fetchJoin()
-                .leftJoin(qProduct).on(qOrder.product.id.eq(productId)).fetchJoin()
-                .orderBy(orderSpecifier)
-                .fetchFirst();
-    }
-
     @Override
     public Page<AdminConsumerResponseDto> findAllByBroadcastId(Long broadcastId, int page, int size) {
         QOrder qOrder = QOrder.order;
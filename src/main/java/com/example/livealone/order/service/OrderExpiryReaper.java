@@ -0,0 +1,70 @@
+package com.example.livealone.order.service;
+
+import com.example.livealone.order.repository.OrderDeadlineStore;
+import com.example.livealone.product.service.StockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제되지 않은 만료 주문 정리 스케쥴러
+ *
+ * OrderDeadlineStore 에서 만료된 주문을 batch-size 개씩 꺼내 한 트랜잭션으로 삭제하고,
+ * 재고는 상품별로 수량을 합쳐 상품당 한 번만 복구하고, 복구에 실패한 수량은 StockService 가 다시 시도합니다.
+ * 삭제가 커밋된 뒤에야 OrderDeadline 에서 지우므로, 처리 도중 실패한 주문은 lease 가 끝난 뒤 다시 처리됩니다.
+ * 한 번에 batch-size 개를 꽉 채워 꺼냈다면 남은 주문이 있을 수 있으므로 바로 다음 batch 를 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderExpiryReaper {
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final OrderDeadlineStore orderDeadlineStore;
+    private final OrderService orderService;
+    private final StockService stockService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.expiry.reap-interval-ms:1000}")
+    public void reapExpiredOrders() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            List<Long> orderIds = orderDeadlineStore.claimExpired(System.currentTimeMillis(), batchSize);
+            if (orderIds.isEmpty()) {
+                return;
+            }
+
+            reap(orderIds);
+
+            if (orderIds.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void reap(List<Long> orderIds) {
+        Map<Long, Integer> releasedByProduct;
+        try {
+            releasedByProduct = orderService.deleteExpiredOrders(orderIds);
+        } catch (Exception e) {
+            // 꺼낸 주문은 lease 가 끝나면 다시 꺼내지므로 여기서 되돌리지 않습니다.
+            log.error("만료 주문 삭제 실패 : {}", e.getMessage());
+            return;
+        }
+
+        releasedByProduct.forEach((productId, quantity) -> {
+            stockService.releaseOrRetry(productId, quantity);
+            meterRegistry.counter("order.expired.released").increment(quantity);
+        });
+        orderDeadlineStore.removeAll(orderIds);
+    }
+}
@@ -3,26 +3,35 @@ package com.example.livealone.order.service;
 import com.example.livealone.admin.dto.AdminConsumerResponseDto;
 import com.example.livealone.broadcast.entity.Broadcast;
 import com.example.livealone.broadcast.service.BroadcastService;
-import com.example.livealone.global.aop.DistributedLock;
 import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.global.ratelimit.RateLimitPolicy;
+import com.example.livealone.global.ratelimit.RateLimiter;
 import com.example.livealone.order.dto.OrderRequestDto;
 import com.example.livealone.order.dto.OrderResponseDto;
 import com.example.livealone.order.entity.Order;
 import com.example.livealone.order.entity.OrderStatus;
+import com.example.livealone.order.repository.OrderDeadlineStore;
 import com.example.livealone.order.repository.OrderRepository;
-import com.example.livealone.product.entity.Product;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.repository.PaymentRepository;
 import com.example.livealone.product.service.ProductService;
+import com.example.livealone.product.service.StockService;
 import com.example.livealone.user.entity.User;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RedissonClient;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -31,19 +40,35 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ProductService productService;
+    private final StockService stockService;
     private final BroadcastService broadcastService;
     private final MessageSource messageSource;
+    private final RateLimiter rateLimiter;
+    private final OrderDeadlineStore orderDeadlineStore;
+    private final PaymentRepository paymentRepository;
 
-    private final RedissonClient redissonClient;
-
-    @DistributedLock(key = "'createOrder-' + #user.getId()")
+    /**
+     * 주문 생성 메서드
+     * 재고는 StockService 가 Redis 에서 원자적으로 차감하므로 락 없이 처리합니다.
+     * 사용자별, 방송별 주문 한도를 넘으면 429 를 반환합니다. 방송별 한도는 진행중인 방송인지 확인한 뒤 적용합니다.
+     */
     public OrderResponseDto createOrder(Long productId, Long broadcastId, User user, OrderRequestDto orderRequestDto) {
 
+        broadcastService.requireOnAirBroadcast(broadcastId);
+        if (!rateLimiter.tryAcquire(RateLimitPolicy.ORDER_USER, String.valueOf(user.getId()))
+                || !rateLimiter.tryAcquire(RateLimitPolicy.ORDER_BROADCAST, String.valueOf(broadcastId))) {
+            throw new CustomException(messageSource.getMessage(
+                    "too.many.requests",
+                    null,
+                    CustomException.DEFAULT_ERROR_MESSAGE,
+                    Locale.getDefault()
+            ), HttpStatus.TOO_MANY_REQUESTS);
+        }
+
         Broadcast broadcast = broadcastService.findByBroadcastId(broadcastId);
-        Product product = productService.findByProductId(productId);
         int orderQuantity = orderRequestDto.getQuantity();
 
-        if (product.getQuantity() < orderQuantity) {
+        if (!stockService.reserve(productId, orderQuantity)) {
             throw new CustomException(messageSource.getMessage(
                     "no.exit.enough.product",
                     null,
@@ -52,30 +77,50 @@ public class OrderService {
             ), HttpStatus.NOT_FOUND);
         }
 
-        product.decreaseStock(orderQuantity);
-
         Order order = Order.builder()
                 .user(user)
-                .product(product)
+                .product(productService.getProductReference(productId))
                 .quantity(orderQuantity)
                 .orderStatus(OrderStatus.READY)
                 .broadcast(broadcast)
                 .build();
 
-        productService.saveProduct(product);
-        broadcastService.saveBroadcast(broadcast);
-        Order curOder = orderRepository.save(order);
+        Order curOder;
+        try {
+            curOder = orderRepository.save(order);
+        } catch (RuntimeException e) {
+            stockService.release(productId, orderQuantity);
+            throw e;
+        }
+
+        try {
+            orderDeadlineStore.add(curOder.getId());
+        } catch (RuntimeException e) {
+            discardOrder(curOder.getId(), productId, orderQuantity);
+            throw e;
+        }
 
         return OrderResponseDto.builder().orderId(curOder.getId()).build();
+    }
 
+    /**
+     * 만료 시각을 등록하지 못한 주문은 스케쥴러가 정리할 수 없으므로 바로 삭제합니다.
+     * 주문 id 를 아직 응답하지 않았으므로 결제가 있을 수 없습니다.
+     * 삭제에 실패하면 주문이 재고를 잡고 있는 상태로 두고, 재고는 복구하지 않습니다.
+     */
+    private void discardOrder(Long orderId, Long productId, int orderQuantity) {
+        try {
+            orderRepository.deleteById(orderId);
+        } catch (RuntimeException e) {
+            log.error("만료 시각 등록 실패한 주문 삭제 실패 orderId : {}, {}", orderId, e.getMessage());
+            return;
+        }
+        stockService.release(productId, orderQuantity);
     }
 
-    @DistributedLock(key = "'checkStock-' + #productId")
     public void checkStock(Long productId) {
 
-        Product product = productService.findByProductId(productId);
-
-        if (product.getQuantity() < 1) {
+        if (stockService.getAvailable(productId) < 1) {
             throw new CustomException(messageSource.getMessage(
                     "no.exit.enough.product",
                     null,
@@ -86,39 +131,61 @@ public class OrderService {
     }
 
     /**
-     * 제한 시간 지났는지 확인 하는 메서드
-     * @param user
+     * 만료된 결제 대기 주문을 한 번에 삭제하고, 복구할 재고 수량을 상품별로 합쳐 반환합니다.
+     * @param orderIds 만료된 주문 id
+     * @return 상품 id 별 복구할 수량 (이미 삭제된 주문은 제외)
+     * @see #deleteUnpaidOrders(Collection)
+     */
+    @Transactional
+    public Map<Long, Integer> deleteExpiredOrders(List<Long> orderIds) {
+        return deleteUnpaidOrders(orderIds);
+    }
+
+    /**
+     * 결제 준비 실패, 결제 취소, 승인 거절 등으로 주문 하나를 삭제하고 복구할 재고 수량을 반환합니다.
+     * @param orderId 주문 id
+     * @return 상품 id 별 복구할 수량, 다른 요청이 먼저 삭제했거나 결제가 진행 중이면 비어 있음
      */
-    @DistributedLock(key = "'checkTimeExpired-' + #productId")
-    public void checkTimeExpired(User user, Long productId) {
-        Order order = orderRepository.findCurrentOrderByUserAndProduct(user,productId);
+    @Transactional
+    public Map<Long, Integer> deleteUnpaidOrder(Long orderId) {
+        return deleteUnpaidOrders(List.of(orderId));
+    }
 
-        if(order == null){
-            throw new CustomException(messageSource.getMessage(
-                    "order.not.found",
-                    null,
-                    CustomException.DEFAULT_ERROR_MESSAGE,
-                    Locale.getDefault()
-            ), HttpStatus.NOT_FOUND);
+    /**
+     * 주문 행을 먼저 잠가서, 같은 주문을 동시에 지우려는 요청(만료 스케쥴러, 결제 취소 등) 중 하나만 삭제하고 재고를 복구하게 합니다.
+     * 결제 대기(REQUESTED) 결제는 FAILED 로 바꾼 뒤 주문과 함께 삭제하고, 승인 중이거나 끝난 결제의 주문은 건너뜁니다.
+     * 상태 변경 쿼리가 결제 행을 잠그므로, 같은 시각에 들어온 결제 승인 요청은 REQUESTED 가 아니게 되어 PG 를 호출하지 않습니다.
+     */
+    private Map<Long, Integer> deleteUnpaidOrders(Collection<Long> orderIds) {
+        List<Order> orders = orderRepository.findAllForUpdateByIdIn(orderIds);
+        if (orders.isEmpty()) {
+            return Map.of();
         }
 
-        long timeDifference = ChronoUnit.MINUTES.between(order.getCreatedAt(), LocalDateTime.now());
+        Set<Long> deletableIds = new HashSet<>();
+        orders.forEach(order -> deletableIds.add(order.getId()));
 
-        if (timeDifference >= 10) {
+        paymentRepository.updateStatusByOrderIds(deletableIds, PaymentStatus.REQUESTED, PaymentStatus.FAILED, LocalDateTime.now());
+        paymentRepository.findOrderIdsByStatusIn(deletableIds,
+                List.of(PaymentStatus.APPROVING, PaymentStatus.COMPLETED)).forEach(deletableIds::remove);
+        if (deletableIds.isEmpty()) {
+            return Map.of();
+        }
 
-            Product product = productService.findByProductId(productId);
-            product.rollbackStock(order.getQuantity());
-            productService.saveProduct(product);
-            orderRepository.delete(order);
+        Map<Long, Integer> releasedByProduct = new HashMap<>();
+        for (Order order : orders) {
+            if (deletableIds.contains(order.getId())) {
+                releasedByProduct.merge(order.getProduct().getId(), order.getQuantity(), Integer::sum);
+            }
+        }
 
-        } else {
-            throw new CustomException(messageSource.getMessage(
-                    "ten.minutes.yet",
-                    null,
-                    CustomException.DEFAULT_ERROR_MESSAGE,
-                    Locale.getDefault()
-            ), HttpStatus.NOT_FOUND);
+        paymentRepository.deleteAllByOrderIdIn(deletableIds);
+        int deleted = orderRepository.deleteAllByIdIn(deletableIds);
+        if (deleted != deletableIds.size()) {
+            throw new IllegalStateException("주문 삭제 수 불일치 expected : " + deletableIds.size() + ", deleted : " + deleted);
         }
+
+        return releasedByProduct;
     }
 
     /**
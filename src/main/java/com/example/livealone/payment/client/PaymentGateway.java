@@ -0,0 +1,13 @@
+package com.example.livealone.payment.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PaymentGateway {
+	KAKAO("kakao"),
+	TOSS("toss");
+
+	private final String name;
+}
@@ -0,0 +1,79 @@
+package com.example.livealone.payment.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * PG 사별 서킷 브레이커
+ * 연속 failureThreshold 번 실패하면 openNanos 동안 호출을 막고, 이후 한 번의 시험 호출로 닫을지 결정합니다.
+ */
+class PaymentGatewayCircuitBreaker {
+
+	enum State {
+		CLOSED,
+		OPEN,
+		HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openNanos;
+	private final LongSupplier nanoClock;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private boolean trialCallInFlight;
+
+	PaymentGatewayCircuitBreaker(int failureThreshold, long openNanos) {
+		this(failureThreshold, openNanos, System::nanoTime);
+	}
+
+	PaymentGatewayCircuitBreaker(int failureThreshold, long openNanos, LongSupplier nanoClock) {
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openNanos;
+		this.nanoClock = nanoClock;
+	}
+
+	synchronized State getState() {
+		return state;
+	}
+
+	synchronized boolean tryAcquirePermission() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		if (state == State.OPEN) {
+			if (nanoClock.getAsLong() - openedAt < openNanos) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+		}
+
+		if (trialCallInFlight) {
+			return false;
+		}
+		trialCallInFlight = true;
+		return true;
+	}
+
+	synchronized void onSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		trialCallInFlight = false;
+	}
+
+	synchronized void onFailure() {
+		trialCallInFlight = false;
+		if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = nanoClock.getAsLong();
+			consecutiveFailures = 0;
+		}
+	}
+
+	/**
+	 * 응답을 받기 전에 호출이 취소된 경우, 결과를 반영하지 않고 시험 호출 자리만 돌려줍니다.
+	 */
+	synchronized void onCancel() {
+		trialCallInFlight = false;
+	}
+}
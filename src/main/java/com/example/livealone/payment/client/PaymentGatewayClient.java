@@ -0,0 +1,209 @@
+package com.example.livealone.payment.client;
+
+import com.example.livealone.global.exception.CustomException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * 카카오페이 / 토스페이 API 비동기 클라이언트
+ *
+ * WebClient(reactor-netty)로 호출하므로 PG 응답을 기다리는 동안 서블릿 스레드를 잡고 있지 않습니다.
+ * PG 사마다 커넥션 풀, 동시 호출 수 제한(bulkhead), 서킷 브레이커를 따로 두어 한 PG 의 장애가 다른 PG 결제로 번지지 않도록 합니다.
+ * 응답 이후에는 DB 작업이 이어지므로 이벤트 루프가 아닌 boundedElastic 스레드에서 future 를 완료합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentGatewayClient {
+
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final MessageSource messageSource;
+
+	@Value("${payment.kakao.base-url:https://open-api.kakaopay.com}")
+	private String kakaoBaseUrl;
+
+	@Value("${payment.kakao.secret-key}")
+	private String kakaoSecretKey;
+
+	@Value("${payment.toss.base-url:https://pay.toss.im}")
+	private String tossBaseUrl;
+
+	@Value("${payment.gateway.connect-timeout-ms:1000}")
+	private int connectTimeoutMillis;
+
+	@Value("${payment.gateway.response-timeout-ms:3000}")
+	private long responseTimeoutMillis;
+
+	@Value("${payment.gateway.max-connections:100}")
+	private int maxConnections;
+
+	@Value("${payment.gateway.max-concurrent-calls:50}")
+	private int maxConcurrentCalls;
+
+	@Value("${payment.gateway.circuit-breaker.failure-threshold:5}")
+	private int failureThreshold;
+
+	@Value("${payment.gateway.circuit-breaker.open-seconds:30}")
+	private long openSeconds;
+
+	private final Map<PaymentGateway, WebClient> webClients = new EnumMap<>(PaymentGateway.class);
+	private final Map<PaymentGateway, Semaphore> bulkheads = new EnumMap<>(PaymentGateway.class);
+	private final Map<PaymentGateway, PaymentGatewayCircuitBreaker> circuitBreakers = new EnumMap<>(PaymentGateway.class);
+	private final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+	@PostConstruct
+	public void init() {
+		for (PaymentGateway gateway : PaymentGateway.values()) {
+			ConnectionProvider connectionProvider = ConnectionProvider.builder("payment-" + gateway.getName())
+				.maxConnections(maxConnections)
+				.pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMillis))
+				.build();
+			connectionProviders.add(connectionProvider);
+
+			HttpClient httpClient = HttpClient.create(connectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+				.responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+
+			WebClient.Builder builder = WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+			if (gateway == PaymentGateway.KAKAO) {
+				builder.baseUrl(kakaoBaseUrl)
+					.defaultHeader(HttpHeaders.AUTHORIZATION, "SECRET_KEY " + kakaoSecretKey);
+			} else {
+				builder.baseUrl(tossBaseUrl);
+			}
+			webClients.put(gateway, builder.build());
+
+			Semaphore bulkhead = new Semaphore(maxConcurrentCalls);
+			bulkheads.put(gateway, bulkhead);
+			circuitBreakers.put(gateway,
+				new PaymentGatewayCircuitBreaker(failureThreshold, TimeUnit.SECONDS.toNanos(openSeconds)));
+
+			Gauge.builder("payment.gateway.calls.active", bulkhead, b -> maxConcurrentCalls - b.availablePermits())
+				.tag("gateway", gateway.getName())
+				.register(meterRegistry);
+		}
+	}
+
+	@PreDestroy
+	public void destroy() {
+		connectionProviders.forEach(ConnectionProvider::dispose);
+	}
+
+	/**
+	 * @param gateway 호출할 PG 사
+	 * @param path base-url 이후 경로
+	 * @param body JSON 으로 보낼 요청 본문
+	 * @return PG 응답 JSON. 동시 호출 수를 넘었거나 서킷이 열려 있으면 503 CustomException 으로 바로 실패합니다.
+	 */
+	public CompletableFuture<JsonNode> post(PaymentGateway gateway, String path, Map<String, ?> body) {
+		return post(gateway, path, body, Duration.ofMillis(responseTimeoutMillis));
+	}
+
+	/**
+	 * 응답 타임아웃을 요청마다 지정합니다. 승인처럼 PG 처리 시간이 긴 API 는 기본값보다 길게 기다립니다.
+	 *
+	 * @see PaymentGatewayFailure
+	 */
+	public CompletableFuture<JsonNode> post(PaymentGateway gateway, String path, Map<String, ?> body,
+		Duration responseTimeout) {
+		Semaphore bulkhead = bulkheads.get(gateway);
+		if (!bulkhead.tryAcquire()) {
+			return reject(gateway, "bulkhead");
+		}
+
+		PaymentGatewayCircuitBreaker circuitBreaker = circuitBreakers.get(gateway);
+		if (!circuitBreaker.tryAcquirePermission()) {
+			bulkhead.release();
+			return reject(gateway, "circuit_open");
+		}
+
+		return webClients.get(gateway).post()
+			.uri(path)
+			.httpRequest(request -> {
+				HttpClientRequest nativeRequest = request.getNativeRequest();
+				nativeRequest.responseTimeout(responseTimeout);
+			})
+			.bodyValue(body)
+			.retrieve()
+			.bodyToMono(String.class)
+			.map(this::readTree)
+			.doOnSuccess(response -> circuitBreaker.onSuccess())
+			.doOnError(error -> onError(gateway, circuitBreaker, error))
+			.doOnCancel(circuitBreaker::onCancel)
+			.doFinally(signal -> bulkhead.release())
+			.publishOn(Schedulers.boundedElastic())
+			.toFuture();
+	}
+
+	private JsonNode readTree(String body) {
+		try {
+			return objectMapper.readTree(body);
+		} catch (JsonProcessingException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	/**
+	 * 연결 실패, 타임아웃, 5xx 만 PG 장애로 보고 서킷 브레이커에 반영합니다.
+	 * 4xx 는 요청이 잘못된 것이므로 PG 는 정상으로 봅니다.
+	 */
+	private void onError(PaymentGateway gateway, PaymentGatewayCircuitBreaker circuitBreaker, Throwable error) {
+		boolean gatewayFault = error instanceof WebClientRequestException
+			|| (error instanceof WebClientResponseException responseException
+			&& responseException.getStatusCode().is5xxServerError());
+
+		if (gatewayFault) {
+			circuitBreaker.onFailure();
+			meterRegistry.counter("payment.gateway.failures", "gateway", gateway.getName()).increment();
+		} else {
+			circuitBreaker.onSuccess();
+		}
+		log.warn("{} PG 호출 실패 : {}", gateway.getName(), error.getMessage());
+	}
+
+	private <T> CompletableFuture<T> reject(PaymentGateway gateway, String reason) {
+		meterRegistry.counter("payment.gateway.rejected", "gateway", gateway.getName(), "reason", reason).increment();
+
+		return CompletableFuture.failedFuture(new CustomException(messageSource.getMessage(
+			"payment.gateway.unavailable",
+			null,
+			CustomException.DEFAULT_ERROR_MESSAGE,
+			Locale.getDefault()
+		), HttpStatus.SERVICE_UNAVAILABLE));
+	}
+}
@@ -0,0 +1,62 @@
+package com.example.livealone.payment.client;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.livealone.global.exception.CustomException;
+
+/**
+ * PG 호출 실패를 PG 가 요청을 처리했는지 여부로 나눕니다.
+ *
+ * 승인 요청이 실패했을 때 결제를 되돌려도 되는지는 이 구분으로 정합니다.
+ * 요청을 보낸 뒤 응답을 받지 못한 경우(응답 타임아웃, 연결 끊김, 5xx)는 PG 가 승인했을 수도 있으므로 UNKNOWN 입니다.
+ */
+public enum PaymentGatewayFailure {
+
+	/**
+	 * 요청이 PG 에 전달되지 않음 (bulkhead / 서킷 브레이커 거절, 연결 실패, 커넥션 풀 대기 타임아웃)
+	 */
+	NOT_SENT,
+
+	/**
+	 * PG 가 요청을 거절함 (4xx)
+	 */
+	DECLINED,
+
+	/**
+	 * PG 의 처리 결과를 알 수 없음
+	 */
+	UNKNOWN;
+
+	public static PaymentGatewayFailure of(Throwable error) {
+		Throwable cause = error;
+		while (cause instanceof CompletionException && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+
+		if (cause instanceof CustomException) {
+			return NOT_SENT;
+		}
+
+		if (cause instanceof WebClientResponseException responseException) {
+			return responseException.getStatusCode().is4xxClientError() ? DECLINED : UNKNOWN;
+		}
+
+		if (cause instanceof WebClientRequestException) {
+			Throwable rootCause = cause.getCause();
+			// 응답 타임아웃(ReadTimeoutException)은 TimeoutException 이 아니므로 UNKNOWN 으로 남습니다.
+			if (rootCause instanceof ConnectException
+				|| rootCause instanceof UnknownHostException
+				|| rootCause instanceof TimeoutException) {
+				return NOT_SENT;
+			}
+		}
+
+		return UNKNOWN;
+	}
+}
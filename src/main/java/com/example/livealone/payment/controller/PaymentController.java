@@ -4,6 +4,7 @@ import com.example.livealone.global.config.URIConfig;
 import com.example.livealone.global.dto.CommonResponseDto;
 import com.example.livealone.payment.dto.PaymentRequestDto;
 import com.example.livealone.payment.dto.PaymentResponseDto;
+import com.example.livealone.payment.entity.PaymentStatus;
 import com.example.livealone.payment.service.PaymentService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -34,13 +36,9 @@ public class PaymentController {
 	 * @return 결제 응답 DTO
 	 */
 	@PostMapping("/payment/kakao/process")
-	public ResponseEntity<PaymentResponseDto> createKakaoPayReady(@RequestBody PaymentRequestDto requestDto) {
+	public CompletableFuture<ResponseEntity<PaymentResponseDto>> createKakaoPayReady(@RequestBody PaymentRequestDto requestDto) {
 		log.debug("Get kakao API : {}",requestDto.getItemName());
-		PaymentResponseDto response = paymentService.createKakaoPayReady(requestDto);
-		if (response.getStatus().equals("FAILED")) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-		}
-		return ResponseEntity.status(HttpStatus.CREATED).body(response);
+		return paymentService.createKakaoPayReady(requestDto).thenApply(this::toCreatedResponse);
 	}
 
 	/**
@@ -52,13 +50,9 @@ public class PaymentController {
 	 * @return 결제 응답 DTO
 	 */
 	@PostMapping("/payment/kakao/approve")
-	public ResponseEntity<PaymentResponseDto> approveKakaoPayPayment(@RequestParam String pgToken, @RequestParam Long orderId, @RequestParam Long userId) {
+	public CompletableFuture<ResponseEntity<PaymentResponseDto>> approveKakaoPayPayment(@RequestParam String pgToken, @RequestParam Long orderId, @RequestParam Long userId) {
 		log.debug("Kakao apporve controller");
-		PaymentResponseDto response = paymentService.approveKakaoPayPayment(pgToken, orderId, userId);
-		if (response.getStatus().equals("FAILED")) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-		}
-		return ResponseEntity.status(HttpStatus.CREATED).body(response);
+		return paymentService.approveKakaoPayPayment(pgToken, orderId, userId).thenApply(this::toCreatedResponse);
 	}
 
 	/**
@@ -70,19 +64,25 @@ public class PaymentController {
 	 * @return 결제 응답 DTO
 	 */
 	@GetMapping("/payment/kakao/complete")
-	public RedirectView completeKakaoPayment(@RequestParam("pg_token") String pgToken,
+	public CompletableFuture<RedirectView> completeKakaoPayment(@RequestParam("pg_token") String pgToken,
 											@RequestParam("order_id") Long orderId,
 											@RequestParam("user_id") Long userId) {
-		PaymentResponseDto response = paymentService.approveKakaoPayPayment(pgToken, orderId, userId);
-		RedirectView redirectView = new RedirectView();
-		if (response.getStatus().equals("FAILED")) {
-			String url = "http://livealone.shop:3000/payment";
-			redirectView.setUrl(url);
-		} else {
-			String url = "http://livealone.shop:3000/completepayment";
-			redirectView.setUrl(url);
-		}
-		return redirectView;
+		return paymentService.approveKakaoPayPayment(pgToken, orderId, userId).thenApply(response -> {
+			RedirectView redirectView = new RedirectView();
+			if (response.getStatus().equals("FAILED") || response.getStatus().equals(PaymentStatus.REQUESTED.name())) {
+				String url = String.format("http://%s:3000/payment", uriConfig.getFrontServerHost());
+				redirectView.setUrl(url);
+			} else if (response.getStatus().equals(PaymentStatus.APPROVING.name())) {
+				// 승인 결과가 아직 확정되지 않았으므로 결과 페이지에 대기 상태와 주문 id 를 넘겨 다시 조회하게 합니다.
+				String url = String.format("http://%s:3000/completepayment?status=%s&order_id=%d",
+					uriConfig.getFrontServerHost(), PaymentStatus.APPROVING.name(), orderId);
+				redirectView.setUrl(url);
+			} else {
+				String url = String.format("http://%s:3000/completepayment", uriConfig.getFrontServerHost());
+				redirectView.setUrl(url);
+			}
+			return redirectView;
+		});
 	}
 
 	/**
@@ -117,12 +117,8 @@ public class PaymentController {
 	 * @return 결제 응답 DTO
 	 */
 	@PostMapping("/payment/toss/process")
-	public ResponseEntity<PaymentResponseDto> createTossPayReady(@RequestBody PaymentRequestDto requestDto) {
-		PaymentResponseDto response = paymentService.createTossPayReady(requestDto);
-		if (response.getStatus().equals("FAILED")) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-		}
-		return ResponseEntity.status(HttpStatus.CREATED).body(response);
+	public CompletableFuture<ResponseEntity<PaymentResponseDto>> createTossPayReady(@RequestBody PaymentRequestDto requestDto) {
+		return paymentService.createTossPayReady(requestDto).thenApply(this::toCreatedResponse);
 	}
 
 
@@ -200,13 +196,18 @@ public class PaymentController {
 
 	/**
 	 * 사용자별 결제 내역 조회
+	 * 다음 페이지는 응답 마지막 항목의 paymentId 를 cursor 로 보내 조회합니다.
 	 *
 	 * @param userId 사용자 ID
+	 * @param cursor 이전 페이지 마지막 paymentId (첫 페이지는 생략)
+	 * @param size 페이지 크기
 	 * @return 결제 내역 리스트
 	 */
 	@GetMapping("/payment/user/{userId}/completed")
-	public ResponseEntity<CommonResponseDto<List<PaymentResponseDto>>> getCompletedPaymentsByUserId(@PathVariable Long userId) {
-		List<PaymentResponseDto> paymentResponses = paymentService.getCompletedPaymentsByUserId(userId);
+	public ResponseEntity<CommonResponseDto<List<PaymentResponseDto>>> getCompletedPaymentsByUserId(@PathVariable Long userId,
+		@RequestParam(required = false) Long cursor,
+		@RequestParam(defaultValue = "10") int size) {
+		List<PaymentResponseDto> paymentResponses = paymentService.getCompletedPaymentsByUserId(userId, cursor, size);
 		CommonResponseDto<List<PaymentResponseDto>> responseDto = CommonResponseDto.<List<PaymentResponseDto>>builder()
 			.status(200)
 			.message("결제 내역 조회 성공")
@@ -214,4 +215,17 @@ public class PaymentController {
 			.build();
 		return ResponseEntity.ok(responseDto);
 	}
+
+	private ResponseEntity<PaymentResponseDto> toCreatedResponse(PaymentResponseDto response) {
+		if (response.getStatus().equals("FAILED")) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+		}
+		if (response.getStatus().equals(PaymentStatus.APPROVING.name())) {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+		}
+		if (response.getStatus().equals(PaymentStatus.REQUESTED.name())) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+		}
+		return ResponseEntity.status(HttpStatus.CREATED).body(response);
+	}
 }
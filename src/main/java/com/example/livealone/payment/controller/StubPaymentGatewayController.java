@@ -0,0 +1,105 @@
+package com.example.livealone.payment.controller;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 / 부하 테스트용 PG 스텁 (stub-pg 프로필에서만 등록)
+ *
+ * 카카오페이 ready / approve / 주문 조회, 토스페이 결제 생성 API 를 흉내 냅니다.
+ * latency-ms 만큼 늦게 응답하고 failure-rate 비율로 500 을 반환하므로, 타임아웃과 서킷 브레이커 동작을 확인할 수 있습니다.
+ * 응답은 지연 실행기에서 완료하므로 지연 시간 동안 서블릿 스레드를 잡고 있지 않습니다.
+ */
+@Slf4j
+@Profile("stub-pg")
+@RestController
+@RequestMapping("/payment/stub")
+public class StubPaymentGatewayController {
+
+	@Value("${payment.stub.latency-ms:100}")
+	private long latencyMillis;
+
+	@Value("${payment.stub.failure-rate:0}")
+	private double failureRate;
+
+	private final Cache<String, Boolean> approvedTids = Caffeine.newBuilder()
+		.expireAfterWrite(1, TimeUnit.HOURS)
+		.maximumSize(100_000)
+		.build();
+
+	@PostMapping("/kakao/online/v1/payment/ready")
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> readyKakaoPay(@RequestBody Map<String, Object> params) {
+		String tid = "T" + UUID.randomUUID().toString().replace("-", "");
+		return respond(Map.of(
+			"tid", tid,
+			"next_redirect_pc_url", "http://localhost:8080/payment/stub/kakao/checkout?tid=" + tid,
+			"created_at", LocalDateTime.now().toString()
+		));
+	}
+
+	@PostMapping("/kakao/online/v1/payment/approve")
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> approveKakaoPay(@RequestBody Map<String, Object> params) {
+		String tid = String.valueOf(params.get("tid"));
+		String now = LocalDateTime.now().toString();
+		return respond(Map.of(
+			"tid", tid,
+			"partner_order_id", String.valueOf(params.get("partner_order_id")),
+			"created_at", now,
+			"approved_at", now
+		)).thenApply(response -> {
+			if (response.getStatusCode().is2xxSuccessful()) {
+				approvedTids.put(tid, Boolean.TRUE);
+			}
+			return response;
+		});
+	}
+
+	/**
+	 * 주문 조회. 승인에 성공한 tid 만 SUCCESS_PAYMENT 로 응답합니다.
+	 */
+	@PostMapping("/kakao/online/v1/payment/order")
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> orderKakaoPay(@RequestBody Map<String, Object> params) {
+		String tid = String.valueOf(params.get("tid"));
+		return respond(Map.of(
+			"tid", tid,
+			"status", approvedTids.getIfPresent(tid) != null ? "SUCCESS_PAYMENT" : "QUIT_PAYMENT"
+		));
+	}
+
+	@PostMapping("/toss/api/v2/payments")
+	public CompletableFuture<ResponseEntity<Map<String, Object>>> readyTossPay(@RequestBody Map<String, Object> params) {
+		String payToken = UUID.randomUUID().toString();
+		return respond(Map.of(
+			"code", 0,
+			"payToken", payToken,
+			"checkoutPage", "http://localhost:8080/payment/stub/toss/checkout?payToken=" + payToken
+		));
+	}
+
+	private CompletableFuture<ResponseEntity<Map<String, Object>>> respond(Map<String, Object> body) {
+		return CompletableFuture.supplyAsync(() -> {
+			if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<Map<String, Object>>body(Map.of("code", -1));
+			}
+			return ResponseEntity.ok(body);
+		}, CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS));
+	}
+}
@@ -9,7 +9,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+	@Index(name = "idx_payments_user_status_id", columnList = "user_id, status, id")
+})
 @NoArgsConstructor
 @Getter
 public class Payment extends Timestamp {
@@ -23,7 +25,7 @@ public class Payment extends Timestamp {
 	private User user;
 
 	@OneToOne(cascade = CascadeType.REMOVE)
-	@JoinColumn(name = "order_id", nullable = false)
+	@JoinColumn(name = "order_id", nullable = false, unique = true)
 	private Order order;
 
 	@Column(nullable = false)
@@ -37,7 +39,7 @@ public class Payment extends Timestamp {
 	@Column(nullable = false)
 	private PaymentStatus status;
 
-	@Column(name = "tid")
+	@Column(name = "tid", unique = true)
 	private String tid;
 
 	@Column(nullable = false)
@@ -66,4 +68,8 @@ public class Payment extends Timestamp {
 	public void updateStatus(PaymentStatus status) {
 		this.status = status;
 	}
+
+	public void updateTid(String tid) {
+		this.tid = tid;
+	}
 }
@@ -1,7 +1,13 @@
 package com.example.livealone.payment.entity;
 
+/**
+ * 결제 상태
+ * REQUESTED -> APPROVING -> COMPLETED / FAILED
+ * APPROVING 은 PG 승인 API 를 호출하는 동안의 상태로, 같은 결제의 승인이 두 번 진행되지 않도록 막습니다.
+ */
 public enum PaymentStatus {
 	REQUESTED,
+	APPROVING,
 	COMPLETED,
 	FAILED,
 }
@@ -0,0 +1,65 @@
+package com.example.livealone.payment.repository;
+
+import java.time.Duration;
+
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.example.livealone.payment.client.PaymentGateway;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PG 콜백 처리 결과 저장소
+ *
+ * PG 재시도나 브라우저 새로고침으로 같은 콜백이 여러 번 들어와도 한 번만 처리하도록,
+ * 결제 건(카카오페이 주문 id, 토스페이 orderNo)마다 처리 결과를 Redis 에 TTL 과 함께 저장합니다.
+ * 처음 들어온 요청만 PROCESSING 을 선점하고, 나머지는 MySQL 을 조회하지 않고 저장된 결과로 바로 응답합니다.
+ * 처리 중 서버가 죽어도 다음 재시도가 처리할 수 있도록 PROCESSING 은 짧게 유지합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentCallbackStore {
+
+	public static final String REDIS_CALLBACK_KEY = "PaymentCallback::";
+	public static final String PROCESSING = "PROCESSING";
+
+	private final RedissonClient redissonClient;
+
+	@Value("${payment.callback.processing-ttl-seconds:60}")
+	private long processingTtlSeconds;
+
+	@Value("${payment.callback.ttl-hours:24}")
+	private long ttlHours;
+
+	/**
+	 * @return 처음 들어온 콜백이면 null, 이미 처리 중이거나 처리된 콜백이면 PROCESSING 또는 저장된 결과
+	 */
+	public String begin(PaymentGateway gateway, String callbackId) {
+		RBucket<String> bucket = getBucket(gateway, callbackId);
+		if (bucket.setIfAbsent(PROCESSING, Duration.ofSeconds(processingTtlSeconds))) {
+			return null;
+		}
+
+		String outcome = bucket.get();
+		return outcome == null ? PROCESSING : outcome;
+	}
+
+	public void complete(PaymentGateway gateway, String callbackId, String outcome) {
+		getBucket(gateway, callbackId).set(outcome, Duration.ofHours(ttlHours));
+	}
+
+	/**
+	 * 처리 중 예외가 발생하면 PG 재시도가 다시 처리할 수 있도록 선점을 풉니다.
+	 */
+	public void abandon(PaymentGateway gateway, String callbackId) {
+		getBucket(gateway, callbackId).delete();
+	}
+
+	private RBucket<String> getBucket(PaymentGateway gateway, String callbackId) {
+		return redissonClient.getBucket(REDIS_CALLBACK_KEY + gateway.getName() + ":" + callbackId, StringCodec.INSTANCE);
+	}
+}
@@ -3,16 +3,52 @@ package com.example.livealone.payment.repository;
 import com.example.livealone.payment.entity.Payment;
 import com.example.livealone.payment.entity.PaymentStatus;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
-	List<Payment> findByUserIdAndStatus(Long userId, PaymentStatus status);
-
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentRepositoryQuery {
 	Payment findByOrder_Id(Long orderId);
 
 	boolean existsByTid(String tid);
 
 	Payment findByTid(String paymentKey);
+
+	/**
+	 * 현재 상태가 from 일 때만 to 로 바꿉니다.
+	 * updatedAt 은 DB 시계 대신 애플리케이션 시각(now)으로 저장하여, PaymentReconciler 가 같은 시계로 비교하도록 합니다.
+	 * @return 바뀐 행 수 (0 이면 다른 요청이 먼저 상태를 바꾼 것)
+	 */
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :now WHERE p.id = :paymentId AND p.status = :from")
+	int updateStatus(@Param("paymentId") Long paymentId, @Param("from") PaymentStatus from, @Param("to") PaymentStatus to,
+		@Param("now") LocalDateTime now);
+
+	/**
+	 * before 이전에 마지막으로 상태가 바뀐 결제를 주문, 상품과 함께 조회합니다.
+	 */
+	@Query("SELECT p FROM Payment p JOIN FETCH p.order o JOIN FETCH o.product WHERE p.status = :status AND p.updatedAt < :before ORDER BY p.id")
+	List<Payment> findAllWithOrderByStatusAndUpdatedAtBefore(@Param("status") PaymentStatus status,
+		@Param("before") LocalDateTime before, Pageable pageable);
+
+	@Query("SELECT p.order.id FROM Payment p WHERE p.order.id IN :orderIds AND p.status IN :statuses")
+	List<Long> findOrderIdsByStatusIn(@Param("orderIds") Collection<Long> orderIds,
+		@Param("statuses") Collection<PaymentStatus> statuses);
+
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :now WHERE p.order.id IN :orderIds AND p.status = :from")
+	int updateStatusByOrderIds(@Param("orderIds") Collection<Long> orderIds, @Param("from") PaymentStatus from,
+		@Param("to") PaymentStatus to, @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("DELETE FROM Payment p WHERE p.order.id IN :orderIds")
+	int deleteAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
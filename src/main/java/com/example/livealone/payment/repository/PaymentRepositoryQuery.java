@@ -0,0 +1,14 @@
+package com.example.livealone.payment.repository;
+
+import com.example.livealone.payment.dto.PaymentResponseDto;
+
+import java.util.List;
+
+public interface PaymentRepositoryQuery {
+
+	/**
+	 * 결제 완료 내역을 최신순으로 조회합니다. (키셋 페이지네이션)
+	 * @param cursor 이전 페이지 마지막 paymentId, 첫 페이지는 null
+	 */
+	List<PaymentResponseDto> findCompletedPaymentsByUserId(Long userId, Long cursor, int size);
+}
@@ -0,0 +1,70 @@
+package com.example.livealone.payment.repository;
+
+import com.example.livealone.order.entity.QOrder;
+import com.example.livealone.payment.dto.PaymentResponseDto;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.entity.QPayment;
+import com.example.livealone.product.entity.QProduct;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentRepositoryQueryImpl implements PaymentRepositoryQuery {
+
+	private final JPAQueryFactory jpaQueryFactory;
+
+	/**
+	 * 주문, 상품을 조인한 한 번의 쿼리로 필요한 컬럼만 읽습니다.
+	 * (user_id, status, id) 인덱스를 타도록 payment.id 역순으로 정렬하고 cursor 보다 작은 id 만 조회합니다.
+	 */
+	@Override
+	public List<PaymentResponseDto> findCompletedPaymentsByUserId(Long userId, Long cursor, int size) {
+		QPayment payment = QPayment.payment;
+		QOrder order = QOrder.order;
+		QProduct product = QProduct.product;
+
+		List<Tuple> rows = jpaQueryFactory.select(
+				payment.id,
+				payment.status,
+				order.id,
+				product.name,
+				order.quantity,
+				payment.amount,
+				payment.paymentMethod,
+				payment.createdAt,
+				payment.updatedAt
+			)
+			.from(payment)
+			.innerJoin(payment.order, order)
+			.innerJoin(order.product, product)
+			.where(
+				payment.user.id.eq(userId),
+				payment.status.eq(PaymentStatus.COMPLETED),
+				cursor == null ? null : payment.id.lt(cursor)
+			)
+			.orderBy(payment.id.desc())
+			.limit(size)
+			.fetch();
+
+		return rows.stream()
+			.map(row -> PaymentResponseDto.builder()
+				.status(row.get(payment.status).name())
+				.message("결제 완료")
+				.paymentId(row.get(payment.id))
+				.userId(userId)
+				.orderId(row.get(order.id))
+				.productName(row.get(product.name))
+				.quantity(row.get(order.quantity))
+				.amount(row.get(payment.amount))
+				.paymentMethod(row.get(payment.paymentMethod).name())
+				.createdAt(String.valueOf(row.get(payment.createdAt)))
+				.updatedAt(String.valueOf(row.get(payment.updatedAt)))
+				.build())
+			.toList();
+	}
+}
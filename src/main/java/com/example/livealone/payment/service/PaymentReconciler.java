@@ -0,0 +1,112 @@
+package com.example.livealone.payment.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.livealone.payment.client.PaymentGateway;
+import com.example.livealone.payment.client.PaymentGatewayClient;
+import com.example.livealone.payment.entity.Payment;
+import com.example.livealone.payment.entity.PaymentMethod;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.repository.PaymentCallbackStore;
+import com.example.livealone.payment.repository.PaymentRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 승인 결과를 알 수 없는 카카오페이 결제 정리 스케쥴러
+ *
+ * 승인 요청이 응답 타임아웃, 연결 끊김, 5xx 로 끝나면 PG 가 승인했을 수도 있으므로 결제를 APPROVING 으로 남겨 둡니다.
+ * grace-seconds 가 지난 APPROVING 결제는 카카오페이 주문 조회 API 로 실제 상태를 확인해 완료 또는 실패로 확정합니다.
+ * 주문 조회가 실패하면 다음 실행에서 다시 조회하고, give-up-minutes 가 지나도 결제가 끝나지 않은 상태(인증 대기 등)면 실패 처리합니다.
+ * 주문 조회는 concurrency 개씩 동시에 보내므로, PG 가 느려도 한 번 실행이 (batch-size / concurrency) 번의 응답 타임아웃 안에 끝납니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentReconciler {
+
+	private static final String KAKAO_ORDER_PATH = "/online/v1/payment/order";
+	private static final Set<String> KAKAO_PAID_STATUSES = Set.of("SUCCESS_PAYMENT", "PART_CANCEL_PAYMENT");
+	private static final Set<String> KAKAO_NOT_PAID_STATUSES =
+		Set.of("CANCEL_PAYMENT", "FAIL_AUTH_PASSWORD", "QUIT_PAYMENT", "FAIL_PAYMENT");
+
+	private final PaymentRepository paymentRepository;
+	private final PaymentGatewayClient paymentGatewayClient;
+	private final PaymentService paymentService;
+	private final PaymentCallbackStore paymentCallbackStore;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${payment.kakao.cid}")
+	private String cid;
+
+	@Value("${payment.reconcile.grace-seconds:30}")
+	private long graceSeconds;
+
+	@Value("${payment.reconcile.give-up-minutes:30}")
+	private long giveUpMinutes;
+
+	@Value("${payment.reconcile.batch-size:100}")
+	private int batchSize;
+
+	@Value("${payment.reconcile.concurrency:10}")
+	private int concurrency;
+
+	@Scheduled(fixedDelayString = "${payment.reconcile.interval-ms:30000}")
+	public void reconcileApprovingPayments() {
+		LocalDateTime now = LocalDateTime.now();
+		// 토스페이는 콜백에서 바로 완료 / 실패로 바뀌므로 APPROVING 으로 남지 않습니다.
+		List<Payment> payments = paymentRepository.findAllWithOrderByStatusAndUpdatedAtBefore(
+				PaymentStatus.APPROVING, now.minusSeconds(graceSeconds), PageRequest.of(0, batchSize)).stream()
+			.filter(payment -> payment.getPaymentMethod() == PaymentMethod.KAKAO_PAY)
+			.toList();
+
+		for (int from = 0; from < payments.size(); from += concurrency) {
+			CompletableFuture<?>[] inquiries = payments.subList(from, Math.min(from + concurrency, payments.size()))
+				.stream()
+				.map(payment -> inquire(payment, now))
+				.toArray(CompletableFuture[]::new);
+			CompletableFuture.allOf(inquiries).join();
+		}
+	}
+
+	private CompletableFuture<Void> inquire(Payment payment, LocalDateTime now) {
+		return paymentGatewayClient.post(PaymentGateway.KAKAO, KAKAO_ORDER_PATH,
+				Map.of("cid", cid, "tid", payment.getTid()))
+			.thenAccept(order -> reconcile(payment, order.path("status").asText(), now))
+			.exceptionally(e -> {
+				log.error("결제 상태 확인 실패 paymentId : {}, {}", payment.getId(), e.getMessage());
+				return null;
+			});
+	}
+
+	private void reconcile(Payment payment, String status, LocalDateTime now) {
+		String callbackId = String.valueOf(payment.getOrder().getId());
+
+		if (KAKAO_PAID_STATUSES.contains(status)) {
+			if (paymentService.completeKakaoApproval(payment)) {
+				paymentCallbackStore.complete(PaymentGateway.KAKAO, callbackId, PaymentStatus.COMPLETED.name());
+			}
+		} else if (KAKAO_NOT_PAID_STATUSES.contains(status)
+			|| payment.getUpdatedAt().isBefore(now.minusMinutes(giveUpMinutes))) {
+			if (paymentService.failKakaoApproval(payment)) {
+				paymentCallbackStore.complete(PaymentGateway.KAKAO, callbackId, PaymentStatus.FAILED.name());
+			}
+		} else {
+			return;
+		}
+
+		log.info("결제 상태 확정 paymentId : {}, PG 상태 : {}", payment.getId(), status);
+		meterRegistry.counter("payment.reconciled", "status", status).increment();
+	}
+}
@@ -1,40 +1,34 @@
 package com.example.livealone.payment.service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
-import com.example.livealone.global.aop.DistributedLock;
 import com.example.livealone.global.config.URIConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.example.livealone.order.entity.Order;
-import com.example.livealone.order.repository.OrderRepository;
+import com.example.livealone.order.repository.OrderDeadlineStore;
 import com.example.livealone.order.service.OrderService;
+import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.payment.client.PaymentGateway;
+import com.example.livealone.payment.client.PaymentGatewayClient;
+import com.example.livealone.payment.client.PaymentGatewayFailure;
 import com.example.livealone.payment.dto.PaymentRequestDto;
 import com.example.livealone.payment.dto.PaymentResponseDto;
 import com.example.livealone.payment.entity.Payment;
 import com.example.livealone.payment.entity.PaymentMethod;
 import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.repository.PaymentCallbackStore;
 import com.example.livealone.payment.repository.PaymentRepository;
-import com.example.livealone.product.entity.Product;
-import com.example.livealone.product.service.ProductService;
-import com.example.livealone.user.entity.User;
-import com.example.livealone.user.repository.UserRepository;
+import com.example.livealone.product.service.StockService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -44,20 +38,27 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class PaymentService {
 
 	private final PaymentRepository paymentRepository;
-	private final UserRepository userRepository;
-	private final OrderRepository orderRepository;
-	private final RestTemplate restTemplate;
+	private final PaymentGatewayClient paymentGatewayClient;
+	private final PaymentStateService paymentStateService;
+	private final PaymentCallbackStore paymentCallbackStore;
+	private final OrderDeadlineStore orderDeadlineStore;
 	private final ObjectMapper objectMapper;
-	private final ProductService productService;
+	private final StockService stockService;
 	private final OrderService orderService;
 
 	private final URIConfig uriConfig;
 
+	private static final String KAKAO_READY_PATH = "/online/v1/payment/ready";
+	private static final String KAKAO_APPROVE_PATH = "/online/v1/payment/approve";
+	private static final String TOSS_READY_PATH = "/api/v2/payments";
+	private static final String CANCELLED = "CANCELLED";
+	private static final int MAX_HISTORY_PAGE_SIZE = 50;
+
 	@Value("${payment.kakao.cid}")
 	private String cid;
 
-	@Value("${payment.kakao.secret-key}")
-	private String secretKey;
+	@Value("${payment.gateway.approve-response-timeout-ms:10000}")
+	private long approveResponseTimeoutMillis;
 
 	@Value("${payment.kakao.approval-url}")
 	private String approvalUrl;
@@ -83,19 +84,12 @@ public class PaymentService {
 	@Value("${payment.toss.result-callback}")
 	private String tossResultCallback;
 
-	public PaymentResponseDto createKakaoPayReady(PaymentRequestDto requestDto) {
+	public CompletableFuture<PaymentResponseDto> createKakaoPayReady(PaymentRequestDto requestDto) {
 		// Ready API -> 성공 시 next url 리턴 -> 프론트에서 결제 진행 -> 사용자가 결제 수단 선택 후 비밀번호 인증까지 마치면 결제 대기 화면은 결제 준비 API 요청시
 		// 전달 받은 approval_url에 pg_token 파라미터를 붙여 대기화면을 approval_url로 redirect
 		// 인증완료 시 응답받은 pg_token과 tid로 최종 승인요청 -> online/v1/payment/approve
 
-		String url = "https://open-api.kakaopay.com/online/v1/payment/ready";
-
-		log.debug("Create Kakao pay ready 진입 URI :{} ", url);
-
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-		headers.set("Authorization", "SECRET_KEY " + secretKey);
-		headers.set("Content-type", "application/json"); // 500 에러 해결 지점
+		log.debug("Create Kakao pay ready 진입 URI :{} ", KAKAO_READY_PATH);
 
 		HashMap<String, String> params = new HashMap<>();
 		params.put("cid", "TC0ONETIME");
@@ -115,63 +109,53 @@ public class PaymentService {
 		params.put("cancel_url", failCancelUrl);
 		params.put("fail_url", failCancelUrl);
 
-		HttpEntity<HashMap<String, String>> request = new HttpEntity<>(params, headers);
-
+		Payment payment;
 		try {
-			ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
-
-			JsonNode jsonNode = objectMapper.readTree(response.getBody());
-
-			User user = userRepository.findById(requestDto.getUserId())
-				.orElseThrow(() -> new IllegalArgumentException("Invalid user ID: " + requestDto.getUserId()));
+			payment = paymentStateService.request(requestDto, PaymentMethod.KAKAO_PAY);
+		} catch (CustomException e) {
+			// 이미 결제가 진행 중인 주문이므로 주문을 삭제하지 않습니다.
+			throw e;
+		} catch (RuntimeException e) {
+			log.error("카카오페이 결제 생성 실패 : {}", e.getMessage());
+			rollbackAndDeleteOrder(requestDto.getOrderId());
+			return CompletableFuture.completedFuture(PaymentResponseDto.builder()
+				.status("FAILED")
+				.message("결제 준비 실패")
+				.build());
+		}
 
-			Order order = orderRepository.findById(requestDto.getOrderId())
-				.orElseThrow(() -> new IllegalArgumentException("Invalid order ID: " + requestDto.getOrderId()));
+		return paymentGatewayClient.post(PaymentGateway.KAKAO, KAKAO_READY_PATH, params)
+			.thenApply(jsonNode -> {
+				String tid = jsonNode.get("tid").asText();
 
-			String tid = jsonNode.get("tid").asText();
+				if (!paymentStateService.attachTid(payment.getId(), tid)) {
+					rollbackAndDeleteOrder(requestDto.getOrderId());
+					return PaymentResponseDto.builder()
+						.status("FAILED")
+						.message("결제 준비 실패: 중복된 TID")
+						.build();
+				}
 
-			if (paymentRepository.existsByTid(tid)) {
+				return PaymentResponseDto.builder()
+					.status("READY")
+					.message("결제 준비 완료")
+					.paymentId(payment.getId())
+					.userId(requestDto.getUserId())
+					.orderId(requestDto.getOrderId())
+					.amount(requestDto.getAmount())
+					.paymentMethod(requestDto.getPaymentMethod())
+					.createdAt(payment.getCreatedAt().toString())
+					.nextRedirectUrl(jsonNode.get("next_redirect_pc_url").asText())
+					.build();
+			})
+			.exceptionally(e -> {
+				log.error("카카오페이 결제 준비 실패 : {}", e.getMessage());
 				rollbackAndDeleteOrder(requestDto.getOrderId());
 				return PaymentResponseDto.builder()
 					.status("FAILED")
-					.message("결제 준비 실패: 중복된 TID")
+					.message("결제 준비 실패")
 					.build();
-			}
-
-			Payment payment = Payment.builder()
-				.user(user)
-				.order(order)
-				.amount(requestDto.getAmount())
-				.paymentMethod(PaymentMethod.KAKAO_PAY)
-				.status(PaymentStatus.REQUESTED)
-				.tid(tid)
-				.orderQuantity(requestDto.getOrderQuantity())
-				.shippingAddress(requestDto.getShippingAddress())
-				.deliveryRequest(requestDto.getDeliveryRequest())
-				.build();
-
-			paymentRepository.save(payment);
-
-			return PaymentResponseDto.builder()
-				.status("READY")
-				.message("결제 준비 완료")
-				.paymentId(payment.getId())
-				.userId(requestDto.getUserId())
-				.orderId(requestDto.getOrderId())
-				.amount(requestDto.getAmount())
-				.paymentMethod(requestDto.getPaymentMethod())
-				.createdAt(payment.getCreatedAt().toString())
-				.nextRedirectUrl(jsonNode.get("next_redirect_pc_url").asText())
-				.build();
-
-		} catch (Exception e) {
-			e.printStackTrace();
-			rollbackAndDeleteOrder(requestDto.getOrderId());
-			return PaymentResponseDto.builder()
-				.status("FAILED")
-				.message("결제 준비 실패")
-				.build();
-		}
+			});
 	}
 
 	/**
@@ -182,27 +166,72 @@ public class PaymentService {
 	 * @param userId  사용자 ID
 	 * @return 결제 응답 DTO
 	 */
-	@Transactional
-	public PaymentResponseDto approveKakaoPayPayment(String pgToken, Long orderId, Long userId) {
-		String url = "https://open-api.kakaopay.com/online/v1/payment/approve";
+	public CompletableFuture<PaymentResponseDto> approveKakaoPayPayment(String pgToken, Long orderId, Long userId) {
+		String callbackId = String.valueOf(orderId);
+		String previousOutcome = paymentCallbackStore.begin(PaymentGateway.KAKAO, callbackId);
+		if (previousOutcome != null) {
+			log.debug("중복 승인 요청 orderId : {}, 처리 결과 : {}", orderId, previousOutcome);
+			return CompletableFuture.completedFuture(toDuplicateResponse(orderId, previousOutcome));
+		}
+
+		CompletableFuture<PaymentResponseDto> result;
+		try {
+			result = requestKakaoApproval(pgToken, orderId, userId);
+		} catch (RuntimeException e) {
+			paymentCallbackStore.abandon(PaymentGateway.KAKAO, callbackId);
+			throw e;
+		}
+
+		return result.whenComplete((response, error) -> {
+			// 결제 대기로 되돌린 요청은 같은 콜백으로 다시 승인할 수 있도록 선점을 풉니다.
+			if (response != null && !PaymentStatus.REQUESTED.name().equals(response.getStatus())) {
+				paymentCallbackStore.complete(PaymentGateway.KAKAO, callbackId, response.getStatus());
+			} else {
+				paymentCallbackStore.abandon(PaymentGateway.KAKAO, callbackId);
+			}
+		});
+	}
+
+	/**
+	 * 이미 처리 중이거나 처리된 승인 요청에 대한 응답
+	 */
+	private PaymentResponseDto toDuplicateResponse(Long orderId, String previousOutcome) {
+		if (PaymentCallbackStore.PROCESSING.equals(previousOutcome) || PaymentStatus.APPROVING.name().equals(previousOutcome)) {
+			return PaymentResponseDto.builder()
+				.status(PaymentStatus.APPROVING.name())
+				.message("결제 승인 진행 중입니다.")
+				.orderId(orderId)
+				.build();
+		}
+
+		return PaymentResponseDto.builder()
+			.status(PaymentStatus.COMPLETED.name().equals(previousOutcome) ? previousOutcome : "FAILED")
+			.message("이미 처리된 결제입니다.")
+			.orderId(orderId)
+			.build();
+	}
 
+	private CompletableFuture<PaymentResponseDto> requestKakaoApproval(String pgToken, Long orderId, Long userId) {
 		log.debug("Approve Kakao payment");
 		log.debug("pgToken : {}", pgToken);
 		log.debug("orderId : {}", orderId);
 		log.debug("userID : {}", userId);
 
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-		headers.set("Authorization", "SECRET_KEY " + secretKey);
-		headers.set("Content-type", "application/json");
-
 		Payment payment = paymentRepository.findByOrder_Id(orderId);
 		if (payment == null) {
 			rollbackAndDeleteOrder(orderId);
-			return PaymentResponseDto.builder()
+			return CompletableFuture.completedFuture(PaymentResponseDto.builder()
 				.status("FAILED")
 				.message("Invalid order ID: " + orderId)
-				.build();
+				.build());
+		}
+
+		// 이미 승인 중이거나 끝난 결제는 PG 를 다시 호출하지 않습니다.
+		if (!paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.APPROVING)) {
+			PaymentStatus current = paymentRepository.findById(payment.getId())
+				.map(Payment::getStatus)
+				.orElse(PaymentStatus.FAILED);
+			return CompletableFuture.completedFuture(toDuplicateResponse(orderId, current.name()));
 		}
 
 		Map<String, String> params = new HashMap<>();
@@ -212,47 +241,125 @@ public class PaymentService {
 		params.put("partner_user_id", userId.toString());
 		params.put("pg_token", pgToken);
 
-		HttpEntity<Map<String, String>> request = new HttpEntity<>(params, headers);
+		log.debug("Send Request");
+		// PG 응답 이후의 처리에서 난 예외를 PG 실패로 보지 않도록 exceptionally 대신 handle 로 나눕니다.
+		return paymentGatewayClient.post(PaymentGateway.KAKAO, KAKAO_APPROVE_PATH, params,
+				Duration.ofMillis(approveResponseTimeoutMillis))
+			.handle((jsonNode, e) -> e == null
+				? onKakaoApproved(payment, jsonNode, orderId, userId)
+				: onKakaoApproveFailed(payment, e, orderId));
+	}
 
-		try {
-			log.debug("Send Request");
-			ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
-			JsonNode jsonNode = objectMapper.readTree(response.getBody());
+	/**
+	 * PG 가 승인한 결제를 완료 처리합니다.
+	 * COMPLETED 로 바꾼 뒤의 후속 작업이 실패해도 결제는 완료된 것이므로 COMPLETED 로 응답합니다.
+	 */
+	private PaymentResponseDto onKakaoApproved(Payment payment, JsonNode jsonNode, Long orderId, Long userId) {
+		log.debug("jsonNode : {}", jsonNode);
+
+		if (!completeKakaoApproval(payment)) {
+			// PaymentReconciler 가 먼저 확정한 경우 확정된 상태로 응답합니다.
+			PaymentStatus current = paymentRepository.findById(payment.getId())
+				.map(Payment::getStatus)
+				.orElse(PaymentStatus.FAILED);
+			return toDuplicateResponse(orderId, current.name());
+		}
 
-			log.debug("jsonNode : {}", jsonNode);
+		return PaymentResponseDto.builder()
+			.status("COMPLETED")
+			.message("결제 완료")
+			.paymentId(orderId)
+			.userId(userId)
+			.orderId(orderId)
+			.amount(payment.getAmount())
+			.paymentMethod(payment.getPaymentMethod().name())
+			.createdAt(jsonNode.path("created_at").asText())
+			.updatedAt(jsonNode.path("approved_at").asText())
+			.build();
+	}
 
-			payment.updateStatus(PaymentStatus.COMPLETED);
-			paymentRepository.save(payment);
+	private PaymentResponseDto onKakaoApproveFailed(Payment payment, Throwable e, Long orderId) {
+		PaymentGatewayFailure failure = PaymentGatewayFailure.of(e);
+		log.warn("카카오페이 결제 승인 실패 orderId : {}, {} : {}", orderId, failure, e.getMessage());
 
+		// PG 가 거절한 경우에만 주문을 삭제합니다.
+		if (failure == PaymentGatewayFailure.DECLINED) {
+			failKakaoApproval(payment);
 			return PaymentResponseDto.builder()
-				.status("COMPLETED")
-				.message("결제 완료")
-				.paymentId(orderId)
-				.userId(userId)
-				.orderId(orderId)
-				.amount(payment.getAmount())
-				.paymentMethod(payment.getPaymentMethod().name())
-				.createdAt(jsonNode.get("created_at").asText())
-				.updatedAt(jsonNode.get("approved_at").asText())
+				.status("FAILED")
+				.message("결제 승인 실패")
 				.build();
+		}
 
-		} catch (Exception e) {
-			rollbackAndDeleteOrder(orderId);
-			log.debug(e.getMessage());
+		// 요청이 PG 에 전달되지 않았으므로 결제 대기로 되돌려 다시 승인할 수 있게 합니다.
+		if (failure == PaymentGatewayFailure.NOT_SENT) {
+			paymentStateService.transition(payment.getId(), PaymentStatus.APPROVING, PaymentStatus.REQUESTED);
 			return PaymentResponseDto.builder()
-				.status("FAILED")
-				.message("결제 승인 실패")
+				.status(PaymentStatus.REQUESTED.name())
+				.message("결제 서비스가 일시적으로 원활하지 않습니다. 잠시 후 다시 시도해주세요.")
+				.orderId(orderId)
 				.build();
 		}
+
+		// 승인 여부를 알 수 없으므로 APPROVING 으로 남겨 두고 PaymentReconciler 가 PG 주문 조회로 확정합니다.
+		return PaymentResponseDto.builder()
+			.status(PaymentStatus.APPROVING.name())
+			.message("결제 승인 결과를 확인하고 있습니다.")
+			.orderId(orderId)
+			.build();
+	}
+
+	/**
+	 * PG 가 승인한 카카오페이 결제를 완료 처리합니다.
+	 * 승인 응답과 PaymentReconciler 중 먼저 APPROVING 에서 바꾼 쪽만 재고를 확정합니다.
+	 * @return 이번 호출로 완료 처리했으면 true
+	 */
+	public boolean completeKakaoApproval(Payment payment) {
+		if (!paymentStateService.transition(payment.getId(), PaymentStatus.APPROVING, PaymentStatus.COMPLETED)) {
+			return false;
+		}
+
+		// 결제는 이미 완료되었으므로 후속 작업이 실패해도 되돌리지 않습니다.
+		// reserved 는 재고 판매 가능 수량에 영향이 없고, 남은 만료 시각은 OrderExpiryReaper 가 완료된 결제를 건너뛰고 지웁니다.
+		try {
+			stockService.confirm(payment.getOrder().getProduct().getId(), payment.getOrder().getQuantity());
+			orderDeadlineStore.remove(payment.getOrder().getId());
+		} catch (RuntimeException e) {
+			log.error("결제 완료 후속 처리 실패 paymentId : {}, {}", payment.getId(), e.getMessage());
+		}
+		return true;
+	}
+
+	/**
+	 * PG 가 승인하지 않은 카카오페이 결제를 실패 처리하고 주문을 삭제합니다.
+	 * @return 이번 호출로 실패 처리했으면 true
+	 */
+	public boolean failKakaoApproval(Payment payment) {
+		if (!paymentStateService.transition(payment.getId(), PaymentStatus.APPROVING, PaymentStatus.FAILED)) {
+			return false;
+		}
+
+		rollbackAndDeleteOrder(payment.getOrder().getId());
+		return true;
 	}
 
 	/**
 	 * 카카오페이 결제 중 취소
 	 * @param orderId 주문 ID
 	 */
-	@Transactional
 	public void cancelKakaoPayment(Long orderId) {
-		rollbackAndDeleteOrder(orderId);
+		String callbackId = String.valueOf(orderId);
+		if (paymentCallbackStore.begin(PaymentGateway.KAKAO, callbackId) != null) {
+			return;
+		}
+
+		try {
+			rollbackAndDeleteOrder(orderId);
+		} catch (RuntimeException e) {
+			paymentCallbackStore.abandon(PaymentGateway.KAKAO, callbackId);
+			throw e;
+		}
+		paymentCallbackStore.complete(PaymentGateway.KAKAO, callbackId, CANCELLED);
 	}
 
 	/**
@@ -261,13 +368,8 @@ public class PaymentService {
 	 * @param requestDto 결제 요청 DTO
 	 * @return 결제 응답 DTO
 	 */
-	public PaymentResponseDto createTossPayReady(PaymentRequestDto requestDto) {
-		String url = "https://pay.toss.im/api/v2/payments";
-
-		log.debug("Toss pay read : {}", url);
-
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.APPLICATION_JSON);
+	public CompletableFuture<PaymentResponseDto> createTossPayReady(PaymentRequestDto requestDto) {
+		log.debug("Toss pay read : {}", TOSS_READY_PATH);
 
 		Map<String, Object> params = new HashMap<>();
 		String createOrderNo = String.format("livealone:%d", requestDto.getOrderId()) + ":" + LocalDate.now();
@@ -289,36 +391,42 @@ public class PaymentService {
 
 		log.debug("request : {}", params);
 
-		HttpEntity<Map<String, Object>> request = new HttpEntity<>(params, headers);
-
+		Payment payment;
 		try {
-			log.debug("Send Request");
-			ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
-
-			JsonNode jsonNode = objectMapper.readTree(response.getBody());
-			log.debug("jsonNode : {}", jsonNode);
-
-			// 필드 존재 여부 체크
-			if (jsonNode.has("payToken") && jsonNode.has("checkoutPage")) {
-				User user = userRepository.findById(requestDto.getUserId())
-					.orElseThrow(() -> new IllegalArgumentException("Invalid user ID: " + requestDto.getUserId()));
-
-				Order order = orderRepository.findById(requestDto.getOrderId())
-					.orElseThrow(() -> new IllegalArgumentException("Invalid order ID: " + requestDto.getOrderId()));
-
-				Payment payment = Payment.builder()
-					.user(user)
-					.order(order)
-					.amount(requestDto.getAmount())
-					.paymentMethod(PaymentMethod.TOSS_PAY)
-					.status(PaymentStatus.REQUESTED)
-					.tid(jsonNode.get("payToken").asText())
-					.orderQuantity(requestDto.getOrderQuantity())
-					.shippingAddress(requestDto.getShippingAddress())
-					.deliveryRequest(requestDto.getDeliveryRequest())
-					.build();
+			payment = paymentStateService.request(requestDto, PaymentMethod.TOSS_PAY);
+		} catch (CustomException e) {
+			// 이미 결제가 진행 중인 주문이므로 주문을 삭제하지 않습니다.
+			throw e;
+		} catch (RuntimeException e) {
+			log.error("토스페이 결제 생성 실패 : {}", e.getMessage());
+			rollbackAndDeleteOrder(requestDto.getOrderId());
+			return CompletableFuture.completedFuture(PaymentResponseDto.builder()
+				.status("FAILED")
+				.message("결제 준비 실패")
+				.build());
+		}
 
-				paymentRepository.save(payment);
+		log.debug("Send Request");
+		return paymentGatewayClient.post(PaymentGateway.TOSS, TOSS_READY_PATH, params)
+			.thenApply(jsonNode -> {
+				log.debug("jsonNode : {}", jsonNode);
+
+				// 필드 존재 여부 체크
+				if (!jsonNode.has("payToken") || !jsonNode.has("checkoutPage")) {
+					rollbackAndDeleteOrder(requestDto.getOrderId());
+					return PaymentResponseDto.builder()
+						.status("FAILED")
+						.message("결제 준비 실패: 필요한 필드가 응답에 없습니다.")
+						.build();
+				}
+
+				if (!paymentStateService.attachTid(payment.getId(), jsonNode.get("payToken").asText())) {
+					rollbackAndDeleteOrder(requestDto.getOrderId());
+					return PaymentResponseDto.builder()
+						.status("FAILED")
+						.message("결제 준비 실패: 중복된 TID")
+						.build();
+				}
 
 				return PaymentResponseDto.builder()
 					.status("READY")
@@ -331,21 +439,15 @@ public class PaymentService {
 					.createdAt(payment.getCreatedAt().toString())
 					.nextRedirectUrl(jsonNode.get("checkoutPage").asText())
 					.build();
-			} else {
+			})
+			.exceptionally(e -> {
+				log.error("토스페이 결제 준비 실패 : {}", e.getMessage());
 				rollbackAndDeleteOrder(requestDto.getOrderId());
 				return PaymentResponseDto.builder()
 					.status("FAILED")
-					.message("결제 준비 실패: 필요한 필드가 응답에 없습니다.")
+					.message("결제 준비 실패")
 					.build();
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-			rollbackAndDeleteOrder(requestDto.getOrderId());
-			return PaymentResponseDto.builder()
-				.status("FAILED")
-				.message("결제 준비 실패")
-				.build();
-		}
+			});
 	}
 
 	// /**
@@ -400,100 +502,116 @@ public class PaymentService {
 	// 	}
 	// }
 
-	@DistributedLock(key = "'rollbackAndDeleteOrder-' + #orderId")
+	/**
+	 * 주문을 삭제하고 예약했던 재고를 복구합니다.
+	 * 주문 행을 잠그고 실제로 삭제한 요청만 재고를 복구하므로, 만료 스케쥴러나 다른 콜백과 겹쳐도 재고가 두 번 복구되지 않습니다.
+	 * 결제 대기 중이던 결제는 REQUESTED -> FAILED 로 바꾼 뒤 삭제하고, 그 사이 승인이 시작된 결제는 건드리지 않습니다.
+	 */
 	public void rollbackAndDeleteOrder(Long orderId) {
-		Order order = orderRepository.findByIdWithProduct(orderId)
-			.orElseThrow(() -> new IllegalArgumentException("Invalid order ID: " + orderId));
-		Product product = order.getProduct();
-
-		Payment payment = paymentRepository.findByOrder_Id(orderId);
-
-		// 재고 롤백
-		product.rollbackStock(order.getQuantity());
-		productService.saveProduct(product);
-
-		// 주문 삭제
-		paymentRepository.delete(payment);
-		orderRepository.delete(order);
+		orderService.deleteUnpaidOrder(orderId).forEach(stockService::releaseOrRetry);
+		orderDeadlineStore.remove(orderId);
 	}
 
 
-	@Transactional
+	/**
+	 * 토스페이 결제 결과 콜백
+	 * 같은 orderno 의 콜백은 한 번만 처리하고, 이후 콜백은 MySQL 을 조회하지 않고 바로 리다이렉트합니다.
+	 */
 	public String returnOrderCheckPage(String orderno, String status, String orderNo, String payMethod, String bankCode,
 		String cardCompany) {
-		log.debug("orderno : {}", orderno); // livealone:192024-08-08
+		log.debug("orderno : {}", orderno); // livealone:19:2024-08-08
 		log.debug("status : {}", status);
 		log.debug("paymeThod ; {}", payMethod);
 
-		// livealone:192024-08-08
-		// livealone:19:2024-08-08 (: 로 tokenize) -> [livealone, 19, 2024-08-08]
-		// findByOrder_Id(19)
+		String url = String.format("http://%s:3000/completepayment", uriConfig.getFrontServerHost());
 
-		// 결제 상태 업데이트 로직 추가
-		String[] tokens = orderno.split(":");
-		Long orderId = Long.parseLong(tokens[1]);
-		Payment payment = paymentRepository.findByOrder_Id(orderId);
-		if (payment == null) {
-			throw new IllegalArgumentException("Invalid orderno: " + orderno);
+		if (paymentCallbackStore.begin(PaymentGateway.TOSS, orderno) != null) {
+			log.debug("중복 콜백 orderno : {}", orderno);
+			return url;
 		}
 
-		if (status.equals("PAY_COMPLETE")) {
-			payment.updateStatus(PaymentStatus.COMPLETED);
-			paymentRepository.save(payment);
-		} else {
-			payment.updateStatus(PaymentStatus.FAILED);
-			rollbackAndDeleteOrder(payment.getOrder().getId());
+		String outcome;
+		try {
+			Payment payment = paymentRepository.findByOrder_Id(parseOrderId(orderno));
+			if (payment == null) {
+				throw new IllegalArgumentException("Invalid orderno: " + orderno);
+			}
+
+			// 다른 노드가 먼저 처리해 REQUESTED 가 아니면 재고는 건드리지 않고 현재 상태를 결과로 남깁니다.
+			outcome = payment.getStatus().name();
+			if (status.equals("PAY_COMPLETE")) {
+				if (paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.COMPLETED)) {
+					outcome = PaymentStatus.COMPLETED.name();
+					stockService.confirm(payment.getOrder().getProduct().getId(), payment.getOrder().getQuantity());
+					orderDeadlineStore.remove(payment.getOrder().getId());
+				}
+			} else {
+				if (paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.FAILED)) {
+					outcome = PaymentStatus.FAILED.name();
+					rollbackAndDeleteOrder(payment.getOrder().getId());
+				}
+			}
+		} catch (RuntimeException e) {
+			paymentCallbackStore.abandon(PaymentGateway.TOSS, orderno);
+			throw e;
 		}
+		paymentCallbackStore.complete(PaymentGateway.TOSS, orderno, outcome);
 
-		String url = String.format("http://%s:3000/completepayment", uriConfig.getFrontServerHost());
 		return url;
 	}
 
-	@Transactional
+	/**
+	 * 토스페이 결제 중 취소 콜백
+	 */
 	public String cancelOrderCheckPage(String orderno) {
-		log.debug("orderno : {}", orderno); // livealone:192024-08-08
+		log.debug("orderno : {}", orderno); // livealone:19:2024-08-08
 
-		// livealone:192024-08-08
-		// livealone:19:2024-08-08 (: 로 tokenize) -> [livealone, 19, 2024-08-08]
-		// findByOrder_Id(19)
+		String url = String.format("http://%s:3000/streaming", uriConfig.getFrontServerHost());
 
-		// 결제 상태 업데이트 로직 추가
-		String[] tokens = orderno.split(":");
-		Long orderId = Long.parseLong(tokens[1]);
-		Payment payment = paymentRepository.findByOrder_Id(orderId);
-		if (payment == null) {
-			throw new IllegalArgumentException("Invalid orderno: " + orderno);
+		if (paymentCallbackStore.begin(PaymentGateway.TOSS, orderno) != null) {
+			log.debug("중복 콜백 orderno : {}", orderno);
+			return url;
 		}
 
-		payment.updateStatus(PaymentStatus.FAILED);
-		rollbackAndDeleteOrder(payment.getOrder().getId());
+		try {
+			Payment payment = paymentRepository.findByOrder_Id(parseOrderId(orderno));
+			if (payment == null) {
+				throw new IllegalArgumentException("Invalid orderno: " + orderno);
+			}
+
+			if (paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.FAILED)) {
+				rollbackAndDeleteOrder(payment.getOrder().getId());
+			}
+		} catch (RuntimeException e) {
+			paymentCallbackStore.abandon(PaymentGateway.TOSS, orderno);
+			throw e;
+		}
+		paymentCallbackStore.complete(PaymentGateway.TOSS, orderno, CANCELLED);
 
-		String url = String.format("http://%s:3000/streaming", uriConfig.getFrontServerHost());
 		return url;
 	}
 
+	/**
+	 * livealone:19:2024-08-08 (: 로 tokenize) -> [livealone, 19, 2024-08-08] -> 19
+	 */
+	private Long parseOrderId(String orderno) {
+		String[] tokens = orderno.split(":");
+		if (tokens.length < 2) {
+			throw new IllegalArgumentException("Invalid orderno: " + orderno);
+		}
+		return Long.parseLong(tokens[1]);
+	}
+
 	/**
 	 * 사용자별 결제 상태가 COMPLETED인 결제 내역 조회
 	 *
 	 * @param userId 사용자 ID
+	 * @param cursor 이전 페이지 마지막 paymentId, 첫 페이지는 null
+	 * @param size 페이지 크기 (최대 {@value #MAX_HISTORY_PAGE_SIZE})
 	 * @return 결제 내역 리스트
 	 */
-	public List<PaymentResponseDto> getCompletedPaymentsByUserId(Long userId) {
-		List<Payment> payments = paymentRepository.findByUserIdAndStatus(userId, PaymentStatus.COMPLETED);
-		return payments.stream()
-			.map(payment -> PaymentResponseDto.builder()
-				.status(payment.getStatus().name())
-				.message("결제 완료")
-				.paymentId(payment.getId())
-				.userId(payment.getUser().getId())
-				.orderId(payment.getOrder().getId())
-				.productName(payment.getOrder().getProduct().getName())
-				.quantity(payment.getOrder().getQuantity())
-				.amount(payment.getAmount())
-				.paymentMethod(payment.getPaymentMethod().name())
-				.createdAt(payment.getCreatedAt().toString())
-				.updatedAt(payment.getUpdatedAt().toString())
-				.build())
-			.collect(Collectors.toList());
+	public List<PaymentResponseDto> getCompletedPaymentsByUserId(Long userId, Long cursor, int size) {
+		int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+		return paymentRepository.findCompletedPaymentsByUserId(userId, cursor, pageSize);
 	}
 }
\ No newline at end of file
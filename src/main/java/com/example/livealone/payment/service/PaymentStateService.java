@@ -0,0 +1,105 @@
+package com.example.livealone.payment.service;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.order.entity.Order;
+import com.example.livealone.order.repository.OrderRepository;
+import com.example.livealone.payment.dto.PaymentRequestDto;
+import com.example.livealone.payment.entity.Payment;
+import com.example.livealone.payment.entity.PaymentMethod;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.repository.PaymentRepository;
+import com.example.livealone.user.entity.User;
+import com.example.livealone.user.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 결제 상태 전이
+ *
+ * PG 호출 전후의 DB 작업을 각각 짧은 트랜잭션으로 처리합니다.
+ * PG 응답을 기다리는 동안에는 트랜잭션과 JDBC 커넥션을 잡고 있지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentStateService {
+
+	private final PaymentRepository paymentRepository;
+	private final UserRepository userRepository;
+	private final OrderRepository orderRepository;
+	private final MessageSource messageSource;
+
+	/**
+	 * PG 결제 준비 API 호출 전에 REQUESTED 상태의 결제를 만듭니다. tid 는 PG 응답 후 attachTid 로 채웁니다.
+	 * 주문당 결제는 하나이므로, 같은 주문으로 다시 들어온 준비 요청(중복 클릭, 재시도)은 409 로 거절합니다.
+	 */
+	@Transactional
+	public Payment request(PaymentRequestDto requestDto, PaymentMethod paymentMethod) {
+		User user = userRepository.findById(requestDto.getUserId())
+			.orElseThrow(() -> new IllegalArgumentException("Invalid user ID: " + requestDto.getUserId()));
+
+		Order order = orderRepository.findById(requestDto.getOrderId())
+			.orElseThrow(() -> new IllegalArgumentException("Invalid order ID: " + requestDto.getOrderId()));
+
+		if (paymentRepository.findByOrder_Id(order.getId()) != null) {
+			throw alreadyRequested();
+		}
+
+		Payment payment = Payment.builder()
+			.user(user)
+			.order(order)
+			.amount(requestDto.getAmount())
+			.paymentMethod(paymentMethod)
+			.status(PaymentStatus.REQUESTED)
+			.orderQuantity(requestDto.getOrderQuantity())
+			.shippingAddress(requestDto.getShippingAddress())
+			.deliveryRequest(requestDto.getDeliveryRequest())
+			.build();
+
+		try {
+			return paymentRepository.save(payment);
+		} catch (DataIntegrityViolationException e) {
+			// 동시에 들어온 준비 요청이 먼저 결제를 만든 경우 (payments.order_id unique)
+			throw alreadyRequested();
+		}
+	}
+
+	/**
+	 * @return 같은 tid 의 결제가 이미 있으면 false
+	 */
+	@Transactional
+	public boolean attachTid(Long paymentId, String tid) {
+		if (paymentRepository.existsByTid(tid)) {
+			return false;
+		}
+
+		Payment payment = paymentRepository.findById(paymentId)
+			.orElseThrow(() -> new IllegalArgumentException("Invalid payment ID: " + paymentId));
+		payment.updateTid(tid);
+		return true;
+	}
+
+	private CustomException alreadyRequested() {
+		return new CustomException(messageSource.getMessage(
+			"payment.already.requested",
+			null,
+			CustomException.DEFAULT_ERROR_MESSAGE,
+			Locale.getDefault()
+		), HttpStatus.CONFLICT);
+	}
+
+	/**
+	 * @return 현재 상태가 from 이 아니어서 바꾸지 못했으면 false
+	 */
+	public boolean transition(Long paymentId, PaymentStatus from, PaymentStatus to) {
+		return paymentRepository.updateStatus(paymentId, from, to, LocalDateTime.now()) == 1;
+	}
+}
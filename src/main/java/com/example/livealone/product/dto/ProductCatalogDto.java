@@ -0,0 +1,24 @@
+package com.example.livealone.product.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 캐시에 저장하는 상품 정보 (재고 제외)
+ * 상품 등록 후 바뀌지 않는 값만 담아 오래 캐시하고, 재고는 StockService 에서 따로 조회합니다.
+ */
+@Getter
+public class ProductCatalogDto {
+  private Long id;
+  private String name;
+  private Integer price;
+  private String introduction;
+
+  @Builder
+  public ProductCatalogDto(Long id, String name, Integer price, String introduction) {
+    this.id = id;
+    this.name = name;
+    this.price = price;
+    this.introduction = introduction;
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.livealone.product.entity;
+
+import com.example.livealone.global.entity.Timestamp;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Redis 오류로 복구하지 못한 재고
+ * 서버가 재시작되어도 남아 있도록 DB 에 저장하고, 재고 복구 스케쥴러가 다시 복구한 뒤 삭제합니다.
+ */
+@Getter
+@Entity
+@Table(name="stock_releases")
+@NoArgsConstructor
+public class StockRelease extends Timestamp {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long productId;
+
+	@Column(nullable = false)
+	private int quantity;
+
+	public StockRelease(Long productId, int quantity) {
+		this.productId = productId;
+		this.quantity = quantity;
+	}
+}
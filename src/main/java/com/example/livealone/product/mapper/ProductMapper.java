@@ -1,5 +1,6 @@
 package com.example.livealone.product.mapper;
 
+import com.example.livealone.product.dto.ProductCatalogDto;
 import com.example.livealone.product.dto.ProductRequestDto;
 import com.example.livealone.product.dto.ProductResponseDto;
 import com.example.livealone.product.entity.Product;
@@ -25,4 +26,23 @@ public class ProductMapper {
         .introduction(product.getIntroduction())
         .build();
   }
+
+  public static ProductCatalogDto toProductCatalogDto(Product product) {
+    return ProductCatalogDto.builder()
+        .id(product.getId())
+        .name(product.getName())
+        .price(product.getPrice())
+        .introduction(product.getIntroduction())
+        .build();
+  }
+
+  public static ProductResponseDto toProductResponseDto(ProductCatalogDto catalog, long quantity) {
+    return ProductResponseDto.builder()
+        .id(catalog.getId())
+        .name(catalog.getName())
+        .price(catalog.getPrice())
+        .quantity(quantity)
+        .introduction(catalog.getIntroduction())
+        .build();
+  }
 }
@@ -1,8 +1,17 @@
 package com.example.livealone.product.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.livealone.product.entity.Product;
 
 public interface ProductRepository extends JpaRepository<Product,Long> {
+
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Product p SET p.quantity = :quantity WHERE p.id = :productId")
+  int updateQuantity(@Param("productId") Long productId, @Param("quantity") Long quantity);
 }
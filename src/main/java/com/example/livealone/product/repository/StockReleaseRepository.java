@@ -0,0 +1,25 @@
+package com.example.livealone.product.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.livealone.product.entity.StockRelease;
+
+public interface StockReleaseRepository extends JpaRepository<StockRelease,Long> {
+
+  List<StockRelease> findTop100ByOrderByIdAsc();
+
+  /**
+   * 여러 노드가 같은 행을 다시 복구하지 않도록, 삭제한 노드만 복구합니다.
+   * @return 삭제된 행 수, 다른 노드가 먼저 가져갔으면 0
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM StockRelease r WHERE r.id = :id")
+  int claimById(@Param("id") Long id);
+}
@@ -0,0 +1,86 @@
+package com.example.livealone.product.service;
+
+import com.example.livealone.product.dto.ProductCatalogDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 2단 캐시 (L1 : 노드 로컬 Caffeine, L2 : Redis ProductCatalog::{id})
+ *
+ * 재고처럼 자주 바뀌는 값은 담지 않고 상품 정보(ProductCatalogDto)만 저장하므로 오래 캐시합니다.
+ * 재고는 StockService 의 Redis 카운터에서 조회합니다.
+ * L1 에 없으면 L2 를 get 한 번으로 조회하고, L2 에도 없으면 DB 에서 읽어 L2 에 저장합니다.
+ * 같은 상품을 동시에 조회하면 L1 의 get(key, loader) 로 한 스레드만 L2 / DB 를 조회합니다. (single-flight)
+ * 무효화는 Redis pub/sub 으로 모든 노드의 L1 에 전파합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCache {
+
+  public final static String REDIS_PRODUCT_CATALOG_KEY = "ProductCatalog::";
+  public static final String INVALIDATE_TOPIC = "ProductCache::invalidate";
+
+  private static final long REDIS_TTL_HOURS = 24;
+
+  private final RedissonClient redissonClient;
+
+  @Value("${product.cache.maximum-size:1000}")
+  private long maximumSize;
+
+  @Value("${product.cache.local-ttl-seconds:600}")
+  private long localTtlSeconds;
+
+  private Cache<Long, ProductCatalogDto> localCache;
+  private RTopic invalidateTopic;
+
+  @PostConstruct
+  public void init() {
+    localCache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+        .build();
+
+    invalidateTopic = redissonClient.getTopic(INVALIDATE_TOPIC, StringCodec.INSTANCE);
+    invalidateTopic.addListener(String.class, (channel, productId) -> localCache.invalidate(Long.valueOf(productId)));
+  }
+
+  public ProductCatalogDto get(Long productId, Function<Long, ProductCatalogDto> loader) {
+    return localCache.get(productId, id -> {
+      RBucket<ProductCatalogDto> bucket = redissonClient.getBucket(REDIS_PRODUCT_CATALOG_KEY + id);
+      ProductCatalogDto catalog = bucket.get();
+      if (catalog != null) {
+        return catalog;
+      }
+
+      catalog = loader.apply(id);
+      bucket.set(catalog, Duration.ofHours(REDIS_TTL_HOURS));
+      return catalog;
+    });
+  }
+
+  /**
+   * L2 를 지우고 모든 노드의 L1 을 비웁니다.
+   * @param productId
+   */
+  public void invalidate(Long productId) {
+    redissonClient.getBucket(REDIS_PRODUCT_CATALOG_KEY + productId).delete();
+    localCache.invalidate(productId);
+    try {
+      invalidateTopic.publish(String.valueOf(productId));
+    } catch (Exception e) {
+      log.error("상품 캐시 무효화 전파 실패 productId : {}, {}", productId, e.getMessage());
+    }
+  }
+}
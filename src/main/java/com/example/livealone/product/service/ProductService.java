@@ -1,6 +1,7 @@
 package com.example.livealone.product.service;
 
 import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.product.dto.ProductCatalogDto;
 import com.example.livealone.product.dto.ProductRequestDto;
 import com.example.livealone.product.dto.ProductResponseDto;
 import com.example.livealone.product.entity.Product;
@@ -8,10 +9,7 @@ import com.example.livealone.product.mapper.ProductMapper;
 import com.example.livealone.product.repository.ProductRepository;
 import com.example.livealone.user.entity.User;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
-import org.redisson.api.RBucket;
-import org.redisson.api.RedissonClient;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -24,9 +22,8 @@ public class ProductService {
   private final ProductRepository productRepository;
 
   private final MessageSource messageSource;
-  private final RedissonClient redissonClient;
-
-  public final static String REDIS_PRODUCT_KEY = "Product::";
+  private final ProductCache productCache;
+  private final StockService stockService;
 
   @Transactional
   public ProductResponseDto createProduct(User user, ProductRequestDto requestDto) {
@@ -38,28 +35,47 @@ public class ProductService {
     return ProductMapper.toProductResponseDto(saveProduct);
   }
 
-  public Product findByProductId(Long productId) {
-    RBucket<Product> bucket = redissonClient.getBucket(REDIS_PRODUCT_KEY + productId);
-    if (bucket.isExists()) {
-      return bucket.get();
-    }
+  /**
+   * 상품 정보는 캐시에서, 재고는 StockService 의 카운터에서 조회합니다.
+   * @param productId
+   * @return
+   */
+  public ProductResponseDto getProduct(Long productId) {
+    ProductCatalogDto catalog = productCache.get(productId, this::loadProductCatalog);
+
+    return ProductMapper.toProductResponseDto(catalog, stockService.getAvailable(productId));
+  }
 
-    Product product = productRepository.findById(productId).orElseThrow(
+  private ProductCatalogDto loadProductCatalog(Long productId) {
+    return ProductMapper.toProductCatalogDto(productRepository.findById(productId).orElseThrow(
             () -> new CustomException(messageSource.getMessage(
                     "product.not.found",
                     null,
                     CustomException.DEFAULT_ERROR_MESSAGE,
                     Locale.getDefault()
             ), HttpStatus.NOT_FOUND)
-    );
-
-    bucket.set(product, 1, TimeUnit.HOURS);
+    ));
+  }
 
-    return product;
+  /**
+   * 주문 등 연관관계 설정에만 사용하는 상품 프록시를 반환하는 메서드
+   * @param productId
+   * @return
+   */
+  public Product getProductReference(Long productId) {
+    return productRepository.getReferenceById(productId);
   }
 
+  /**
+   * 상품 수량이 바뀌었을 수 있으므로 저장이 커밋된 뒤 재고 카운터를 비워 새 수량으로 다시 적재하게 합니다.
+   * @param product
+   * @return
+   */
   public Product saveProduct(Product product) {
 
-    return productRepository.save(product);
+    Product savedProduct = productRepository.save(product);
+    stockService.resetStock(savedProduct.getId());
+
+    return savedProduct;
   }
 }
@@ -0,0 +1,292 @@
+package com.example.livealone.product.service;
+
+import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.order.repository.OrderRepository;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.product.entity.Product;
+import com.example.livealone.product.entity.StockRelease;
+import com.example.livealone.product.repository.ProductRepository;
+import com.example.livealone.product.repository.StockReleaseRepository;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 상품 재고를 Redis 카운터(available / reserved)로 관리하는 서비스 입니다.
+ * 재고 차감과 복구는 Lua 스크립트 한 번으로 원자적으로 처리되므로 분산 락이 필요하지 않고,
+ * 변경된 재고는 스케쥴러가 products 테이블에 모아서 반영합니다. (write-behind)
+ *
+ * products.quantity 에는 아직 팔리지 않은 수량(available + reserved)을 저장합니다.
+ * 예약과 복구는 이 값을 바꾸지 않고 결제 완료(confirm)만 줄이므로, Redis 카운터를 잃어도
+ * 예약 수량은 주문 테이블에서 다시 계산해 available = quantity - 미결제 주문 수량 으로 복원합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockService {
+
+  private final ProductRepository productRepository;
+  private final OrderRepository orderRepository;
+  private final StockReleaseRepository stockReleaseRepository;
+
+  private final MessageSource messageSource;
+  private final RedissonClient redissonClient;
+
+  public final static String REDIS_STOCK_KEY = "ProductStock::";
+  public final static String REDIS_STOCK_DIRTY_KEY = "ProductStock::dirty";
+
+  private static final String FIELD_AVAILABLE = "available";
+  private static final String FIELD_RESERVED = "reserved";
+
+  private static final long NOT_LOADED = -2L;
+  private static final long NOT_ENOUGH = -1L;
+  private static final int FLUSH_BATCH_SIZE = 100;
+
+  // DB 에도 저장하지 못한 복구 수량, 이 노드에서만 재시도합니다.
+  private final Map<Long, Integer> pendingReleases = new ConcurrentHashMap<>();
+
+  // 반환값 : 차감 후 남은 재고, 재고 부족 시 -1, 카운터가 없으면 -2
+  private static final String RESERVE_SCRIPT =
+      "local available = redis.call('HGET', KEYS[1], 'available') " +
+      "if not available then return -2 end " +
+      "local quantity = tonumber(ARGV[1]) " +
+      "if tonumber(available) < quantity then return -1 end " +
+      "redis.call('HINCRBY', KEYS[1], 'reserved', quantity) " +
+      "local remain = redis.call('HINCRBY', KEYS[1], 'available', -quantity) " +
+      "redis.call('SADD', KEYS[2], ARGV[2]) " +
+      "return remain";
+
+  // 반환값 : 복구 후 재고, 카운터가 없으면 -2
+  // 예약된 만큼만 복구합니다. 카운터를 다시 적재했다면 이미 삭제된 주문은 reserved 에 없고 available 에 포함되어 있습니다.
+  // reserved 가 0 이면 -math.min 이 -0 이 되어 HINCRBY 가 거절하므로, 뺄 수량이 있을 때만 차감합니다.
+  private static final String RELEASE_SCRIPT =
+      "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end " +
+      "local quantity = tonumber(ARGV[1]) " +
+      "local reserved = tonumber(redis.call('HGET', KEYS[1], 'reserved') or '0') " +
+      "local released = math.min(reserved, quantity) " +
+      "if released <= 0 then return tonumber(redis.call('HGET', KEYS[1], 'available')) end " +
+      "redis.call('HINCRBY', KEYS[1], 'reserved', -released) " +
+      "local remain = redis.call('HINCRBY', KEYS[1], 'available', released) " +
+      "redis.call('SADD', KEYS[2], ARGV[2]) " +
+      "return remain";
+
+  // 결제가 완료된 수량을 reserved 에서 제외합니다. 팔리지 않은 수량이 줄어들므로 반영 대상에 추가합니다.
+  private static final String CONFIRM_SCRIPT =
+      "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end " +
+      "local quantity = tonumber(ARGV[1]) " +
+      "local reserved = tonumber(redis.call('HGET', KEYS[1], 'reserved') or '0') " +
+      "local confirmed = math.min(reserved, quantity) " +
+      "if confirmed <= 0 then return reserved end " +
+      "redis.call('SADD', KEYS[2], ARGV[2]) " +
+      "return redis.call('HINCRBY', KEYS[1], 'reserved', -confirmed)";
+
+  // 다른 노드가 먼저 적재했다면 그 값을 유지합니다.
+  private static final String LOAD_SCRIPT =
+      "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+      "redis.call('HSET', KEYS[1], 'available', ARGV[1], 'reserved', ARGV[2]) end " +
+      "return tonumber(redis.call('HGET', KEYS[1], 'available'))";
+
+  /**
+   * 재고를 예약(차감)하는 메서드
+   * @param productId
+   * @param quantity
+   * @return 재고가 충분하여 차감되었으면 true
+   */
+  public boolean reserve(Long productId, int quantity) {
+    validateQuantity(quantity);
+    long result = evalStockScript(RESERVE_SCRIPT, productId, quantity);
+    if (result == NOT_LOADED) {
+      loadStock(productId);
+      result = evalStockScript(RESERVE_SCRIPT, productId, quantity);
+    }
+
+    return result != NOT_ENOUGH && result != NOT_LOADED;
+  }
+
+  /**
+   * 결제 실패, 주문 만료 등으로 예약했던 재고를 복구하는 메서드
+   * @param productId
+   * @param quantity
+   */
+  public void release(Long productId, int quantity) {
+    validateQuantity(quantity);
+    long result = evalStockScript(RELEASE_SCRIPT, productId, quantity);
+    if (result == NOT_LOADED) {
+      loadStock(productId);
+      evalStockScript(RELEASE_SCRIPT, productId, quantity);
+    }
+  }
+
+  /**
+   * 주문 삭제가 커밋된 뒤 재고를 복구하는 메서드
+   * Redis 오류로 복구하지 못한 수량은 재시작해도 남도록 DB 에 저장하고 스케쥴러가 다시 복구합니다.
+   * @param productId
+   * @param quantity
+   */
+  public void releaseOrRetry(Long productId, int quantity) {
+    try {
+      release(productId, quantity);
+    } catch (Exception e) {
+      log.error("재고 복구 실패, 재시도 예정 productId : {}, quantity : {}, {}", productId, quantity, e.getMessage());
+      savePendingRelease(productId, quantity);
+    }
+  }
+
+  /**
+   * 복구하지 못한 재고를 다시 복구하는 스케쥴러 입니다.
+   * DB 에 저장된 복구 건은 먼저 삭제한 노드만 복구하므로 여러 노드에서 실행해도 한 번만 복구됩니다.
+   */
+  @Scheduled(fixedDelay = 1000)
+  public void retryPendingReleases() {
+    for (Long productId : pendingReleases.keySet()) {
+      Integer quantity = pendingReleases.remove(productId);
+      if (quantity != null) {
+        retryRelease(productId, quantity);
+      }
+    }
+
+    List<StockRelease> stockReleases;
+    try {
+      stockReleases = stockReleaseRepository.findTop100ByOrderByIdAsc();
+    } catch (Exception e) {
+      log.error("재고 복구 대기 목록 조회 실패 : {}", e.getMessage());
+      return;
+    }
+
+    for (StockRelease stockRelease : stockReleases) {
+      try {
+        if (stockReleaseRepository.claimById(stockRelease.getId()) == 0) {
+          continue;
+        }
+      } catch (Exception e) {
+        log.error("재고 복구 대기 삭제 실패 id : {}, {}", stockRelease.getId(), e.getMessage());
+        return;
+      }
+      retryRelease(stockRelease.getProductId(), stockRelease.getQuantity());
+    }
+  }
+
+  private void retryRelease(Long productId, int quantity) {
+    try {
+      release(productId, quantity);
+    } catch (Exception e) {
+      log.error("재고 복구 재시도 실패 productId : {}, quantity : {}, {}", productId, quantity, e.getMessage());
+      savePendingRelease(productId, quantity);
+    }
+  }
+
+  private void savePendingRelease(Long productId, int quantity) {
+    try {
+      stockReleaseRepository.save(new StockRelease(productId, quantity));
+    } catch (Exception e) {
+      log.error("재고 복구 대기 저장 실패 productId : {}, quantity : {}, {}", productId, quantity, e.getMessage());
+      pendingReleases.merge(productId, quantity, Integer::sum);
+    }
+  }
+
+  /**
+   * 결제가 완료되어 예약 재고를 확정하는 메서드
+   * @param productId
+   * @param quantity
+   */
+  public void confirm(Long productId, int quantity) {
+    evalStockScript(CONFIRM_SCRIPT, productId, quantity);
+  }
+
+  public long getAvailable(Long productId) {
+    RMap<String, String> stock = redissonClient.getMap(REDIS_STOCK_KEY + productId, StringCodec.INSTANCE);
+    String available = stock.get(FIELD_AVAILABLE);
+    if (available == null) {
+      return loadStock(productId);
+    }
+
+    return Long.parseLong(available);
+  }
+
+  /**
+   * 관리자가 상품 수량을 바꾼 뒤 호출합니다. 카운터를 지우면 다음 조회 때 products 테이블에서 다시 적재합니다.
+   * 수량 변경이 커밋된 뒤에 호출해야 하며, 반영 대상에서도 빼서 이전 카운터 값이 새 수량을 덮어쓰지 않게 합니다.
+   * @param productId
+   */
+  public void resetStock(Long productId) {
+    redissonClient.getSet(REDIS_STOCK_DIRTY_KEY, StringCodec.INSTANCE).remove(String.valueOf(productId));
+    redissonClient.getMap(REDIS_STOCK_KEY + productId, StringCodec.INSTANCE).delete();
+  }
+
+  /**
+   * 변경된 재고를 products 테이블에 반영하는 스케쥴러 입니다.
+   */
+  @Scheduled(fixedDelay = 1000)
+  public void flushStock() {
+    RSet<String> dirty = redissonClient.getSet(REDIS_STOCK_DIRTY_KEY, StringCodec.INSTANCE);
+    Set<String> productIds = dirty.removeRandom(FLUSH_BATCH_SIZE);
+
+    for (String productId : productIds) {
+      try {
+        RMap<String, String> stock = redissonClient.getMap(REDIS_STOCK_KEY + productId, StringCodec.INSTANCE);
+        Map<String, String> counters = stock.getAll(Set.of(FIELD_AVAILABLE, FIELD_RESERVED));
+        String available = counters.get(FIELD_AVAILABLE);
+        if (available != null) {
+          long reserved = Long.parseLong(counters.getOrDefault(FIELD_RESERVED, "0"));
+          productRepository.updateQuantity(Long.valueOf(productId), Long.parseLong(available) + reserved);
+        }
+      } catch (Exception e) {
+        log.error("재고 반영 실패 productId : {}, {}", productId, e.getMessage());
+        dirty.add(productId);
+      }
+    }
+  }
+
+  private long loadStock(Long productId) {
+    Product product = productRepository.findById(productId).orElseThrow(
+        () -> new CustomException(messageSource.getMessage(
+            "product.not.found",
+            null,
+            CustomException.DEFAULT_ERROR_MESSAGE,
+            Locale.getDefault()
+        ), HttpStatus.NOT_FOUND)
+    );
+
+    long reserved = orderRepository.sumReservedQuantityByProductId(productId, PaymentStatus.COMPLETED);
+    long available = Math.max(product.getQuantity() - reserved, 0);
+
+    RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+    Long loaded = script.eval(RScript.Mode.READ_WRITE, LOAD_SCRIPT, RScript.ReturnType.INTEGER,
+        List.<Object>of(REDIS_STOCK_KEY + productId), String.valueOf(available), String.valueOf(reserved));
+
+    return loaded;
+  }
+
+  private void validateQuantity(int quantity) {
+    if (quantity <= 0) {
+      throw new CustomException(messageSource.getMessage(
+          "invalid.stock.quantity",
+          null,
+          CustomException.DEFAULT_ERROR_MESSAGE,
+          Locale.getDefault()
+      ), HttpStatus.BAD_REQUEST);
+    }
+  }
+
+  private long evalStockScript(String luaScript, Long productId, int quantity) {
+    RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+    Long result = script.eval(RScript.Mode.READ_WRITE, luaScript, RScript.ReturnType.INTEGER,
+        List.<Object>of(REDIS_STOCK_KEY + productId, REDIS_STOCK_DIRTY_KEY),
+        String.valueOf(quantity), String.valueOf(productId));
+
+    return result;
+  }
+}
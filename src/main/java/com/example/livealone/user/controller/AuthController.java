@@ -26,7 +26,7 @@ public class AuthController {
   public ResponseEntity<CommonResponseDto<Void>> logout(
       @AuthenticationPrincipal UserDetailsImpl userDetails) {
 
-    authService.logout(userDetails.getUser());
+    authService.logout(userDetails.getId());
 
     return ResponseEntity.status(HttpStatus.OK).body(
         new CommonResponseDto<>(
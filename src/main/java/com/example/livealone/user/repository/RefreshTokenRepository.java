@@ -1,9 +0,0 @@
-package com.example.livealone.user.repository;
-
-import com.example.livealone.user.entity.RefreshToken;
-import java.util.Optional;
-import org.springframework.data.repository.CrudRepository;
-
-public interface RefreshTokenRepository extends CrudRepository<RefreshToken, Long> {
-  Optional<RefreshToken> findByToken(String token);
-}
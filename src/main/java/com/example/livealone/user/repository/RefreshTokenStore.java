@@ -0,0 +1,254 @@
+package com.example.livealone.user.repository;
+
+import com.example.livealone.user.entity.User;
+import com.example.livealone.user.entity.UserRole;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Refresh Token 저장소
+ *
+ * 토큰을 key 로 하는 Redis 해시에 Access Token 발급에 필요한 사용자 정보(id / email / username / nickname / role)를 같이 저장하여,
+ * 재발급할 때 MySQL 을 조회하지 않습니다. 검증 / 삭제 / 새 토큰 저장은 Lua 스크립트 한 번으로 처리합니다.
+ * 사용자당 토큰은 하나이며, RefreshToken::{userId}::user 에 현재 토큰을 저장합니다.
+ *
+ * 스크립트가 건드리는 key 는 모두 KEYS 로 넘기고, key 에 {userId} 해시 태그를 붙여 Redis Cluster 에서도 같은 슬롯에 있도록 합니다.
+ * 그래서 토큰 값은 "{userId}.{uuid}" 형식이며, 재발급할 때 토큰에서 userId 를 꺼내 key 를 만듭니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+  public final static String REDIS_KEY_PREFIX = "RefreshToken::";
+
+  private static final String TOKEN_DELIMITER = ".";
+
+  private static final long TTL_SECONDS = 3600;
+
+  private final RedissonClient redissonClient;
+
+  // 이전 토큰을 지우고 새 토큰을 저장합니다.
+  // KEYS[1] : 새 토큰, KEYS[2] : 사용자 key, KEYS[3] : 읽어 둔 이전 토큰 (없으면 생략)
+  // ARGV : ttl, userId, email, username, nickname, role
+  private static final String ISSUE_SCRIPT =
+      "if redis.call('GET', KEYS[2]) ~= (KEYS[3] or false) then return -1 end " +
+      "if KEYS[3] then redis.call('DEL', KEYS[3]) end " +
+      "redis.call('HSET', KEYS[1], 'userId', ARGV[2], 'email', ARGV[3], 'username', ARGV[4], 'nickname', ARGV[5], 'role', ARGV[6]) " +
+      "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+      "redis.call('SET', KEYS[2], KEYS[1], 'EX', ARGV[1]) " +
+      "return 1";
+
+  // 이전 토큰이 있으면 지우고 같은 사용자 정보로 새 토큰을 저장합니다.
+  // KEYS[1] : 이전 토큰, KEYS[2] : 새 토큰, KEYS[3] : 사용자 key, ARGV[1] : ttl
+  // 반환값 : userId, email, username, nickname, role (토큰이 없으면 빈 배열)
+  private static final String ROTATE_SCRIPT =
+      "local owner = redis.call('HMGET', KEYS[1], 'userId', 'email', 'username', 'nickname', 'role') " +
+      "if not owner[1] then return {} end " +
+      "redis.call('DEL', KEYS[1]) " +
+      "redis.call('HSET', KEYS[2], 'userId', owner[1], 'email', owner[2], 'username', owner[3], 'nickname', owner[4], 'role', owner[5]) " +
+      "redis.call('EXPIRE', KEYS[2], ARGV[1]) " +
+      "redis.call('SET', KEYS[3], KEYS[2], 'EX', ARGV[1]) " +
+      "return owner";
+
+  // KEYS[1] : 사용자 key, KEYS[2] : 읽어 둔 현재 토큰 (없으면 생략)
+  private static final String REVOKE_SCRIPT =
+      "local current = redis.call('GET', KEYS[1]) " +
+      "if not current then return 0 end " +
+      "if current ~= KEYS[2] then return -1 end " +
+      "redis.call('DEL', KEYS[2], KEYS[1]) " +
+      "return 1";
+
+  // 프로필이 바뀌면 저장된 사용자 정보를 갱신합니다.
+  // KEYS[1] : 사용자 key, KEYS[2] : 읽어 둔 현재 토큰, ARGV : nickname, role
+  private static final String UPDATE_SCRIPT =
+      "local current = redis.call('GET', KEYS[1]) " +
+      "if not current then return 0 end " +
+      "if current ~= KEYS[2] then return -1 end " +
+      "if redis.call('EXISTS', KEYS[2]) == 0 then return 0 end " +
+      "redis.call('HSET', KEYS[2], 'nickname', ARGV[1], 'role', ARGV[2]) " +
+      "return 1";
+
+  // 현재 토큰을 읽은 뒤 다른 요청이 토큰을 바꿨으면(-1) 다시 읽어서 시도합니다.
+  private static final int MAX_ATTEMPTS = 3;
+
+  private static final long CONFLICT = -1L;
+
+  public String issue(User user) {
+    String token = user.getId() + TOKEN_DELIMITER + UUID.randomUUID();
+    String userKey = userKey(user.getId());
+
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      Long result = getScript().eval(RScript.Mode.READ_WRITE, ISSUE_SCRIPT, RScript.ReturnType.INTEGER,
+          withCurrentToken(List.of(tokenKey(user.getId(), token), userKey), userKey),
+          String.valueOf(TTL_SECONDS), String.valueOf(user.getId()), user.getEmail(), user.getUsername(),
+          nullToEmpty(user.getNickname()), user.getRole().name());
+
+      if (result != CONFLICT) {
+        return token;
+      }
+    }
+
+    throw new IllegalStateException("Refresh Token 발급 충돌 userId : " + user.getId());
+  }
+
+  /**
+   * Refresh Token 을 새 토큰으로 교체합니다.
+   * @param token 이전 토큰
+   * @return 새 토큰과 사용자 정보, 토큰이 없으면 null
+   */
+  public RotatedToken rotate(String token) {
+    Long userId = parseUserId(token);
+    if (userId == null) {
+      return null;
+    }
+
+    String newToken = userId + TOKEN_DELIMITER + UUID.randomUUID();
+
+    List<Object> owner = getScript().eval(RScript.Mode.READ_WRITE, ROTATE_SCRIPT, RScript.ReturnType.MULTI,
+        List.<Object>of(tokenKey(userId, token), tokenKey(userId, newToken), userKey(userId)),
+        String.valueOf(TTL_SECONDS));
+
+    if (owner == null || owner.isEmpty()) {
+      return null;
+    }
+
+    return new RotatedToken(
+        newToken,
+        Long.valueOf((String) owner.get(0)),
+        (String) owner.get(1),
+        (String) owner.get(2),
+        emptyToNull((String) owner.get(3)),
+        UserRole.valueOf((String) owner.get(4))
+    );
+  }
+
+  /**
+   * @param userId
+   * @return 저장된 토큰이 없으면 false
+   */
+  public boolean revoke(Long userId) {
+    String userKey = userKey(userId);
+
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      Long result = getScript().eval(RScript.Mode.READ_WRITE, REVOKE_SCRIPT, RScript.ReturnType.INTEGER,
+          withCurrentToken(List.of(userKey), userKey));
+
+      if (result != CONFLICT) {
+        return result == 1L;
+      }
+    }
+
+    throw new IllegalStateException("Refresh Token 삭제 충돌 userId : " + userId);
+  }
+
+  /**
+   * 저장된 사용자 정보(nickname / role)를 갱신합니다.
+   * 트랜잭션 안에서 호출하면 커밋 후에 갱신하여, 롤백된 변경이 토큰에 남지 않도록 합니다.
+   * @param user
+   */
+  public void updateOwner(User user) {
+    Long userId = user.getId();
+    String nickname = nullToEmpty(user.getNickname());
+    String role = user.getRole().name();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          updateOwner(userId, nickname, role);
+        }
+      });
+      return;
+    }
+
+    updateOwner(userId, nickname, role);
+  }
+
+  private void updateOwner(Long userId, String nickname, String role) {
+    String userKey = userKey(userId);
+
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      List<Object> keys = withCurrentToken(List.of(userKey), userKey);
+      if (keys.size() == 1) {
+        return;
+      }
+
+      Long result = getScript().eval(RScript.Mode.READ_WRITE, UPDATE_SCRIPT, RScript.ReturnType.INTEGER,
+          keys, nickname, role);
+
+      if (result != CONFLICT) {
+        return;
+      }
+    }
+
+    log.warn("Refresh Token 사용자 정보 갱신 충돌 userId : {}", userId);
+  }
+
+  /**
+   * 사용자 key 에 저장된 현재 토큰 key 를 읽어 KEYS 뒤에 붙입니다. 스크립트는 그 사이에 토큰이 바뀌었는지 다시 확인합니다.
+   */
+  private List<Object> withCurrentToken(List<String> keys, String userKey) {
+    List<Object> result = new ArrayList<>(keys);
+    String currentTokenKey = redissonClient.<String>getBucket(userKey, StringCodec.INSTANCE).get();
+    if (currentTokenKey != null) {
+      result.add(currentTokenKey);
+    }
+    return result;
+  }
+
+  private static String tokenKey(Long userId, String token) {
+    return REDIS_KEY_PREFIX + "{" + userId + "}::" + token;
+  }
+
+  private static String userKey(Long userId) {
+    return REDIS_KEY_PREFIX + "{" + userId + "}::user";
+  }
+
+  private static Long parseUserId(String token) {
+    int delimiter = token == null ? -1 : token.indexOf(TOKEN_DELIMITER);
+    if (delimiter <= 0) {
+      return null;
+    }
+
+    try {
+      return Long.valueOf(token.substring(0, delimiter));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private RScript getScript() {
+    return redissonClient.getScript(StringCodec.INSTANCE);
+  }
+
+  private static String nullToEmpty(String value) {
+    return value == null ? "" : value;
+  }
+
+  private static String emptyToNull(String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static class RotatedToken {
+
+    private final String token;
+    private final Long userId;
+    private final String email;
+    private final String username;
+    private final String nickname;
+    private final UserRole role;
+  }
+}
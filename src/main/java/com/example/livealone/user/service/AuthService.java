@@ -4,12 +4,10 @@ import com.example.livealone.global.exception.CustomException;
 import com.example.livealone.global.security.JwtService;
 import com.example.livealone.user.dto.ReissueRequestDto;
 import com.example.livealone.user.dto.TokenResponseDto;
-import com.example.livealone.user.entity.RefreshToken;
 import com.example.livealone.user.entity.User;
-import com.example.livealone.user.repository.RefreshTokenRepository;
-import com.example.livealone.user.repository.UserRepository;
+import com.example.livealone.user.repository.RefreshTokenStore;
+import com.example.livealone.user.repository.RefreshTokenStore.RotatedToken;
 import java.util.Locale;
-import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
@@ -22,56 +20,48 @@ public class AuthService {
   private final JwtService jwtService;
   public final MessageSource messageSource;
 
-  private final UserRepository userRepository;
-  private final RefreshTokenRepository refreshTokenRepository;
+  private final RefreshTokenStore refreshTokenStore;
 
+  /**
+   * Refresh Token 을 교체하고 Access Token 을 재발급합니다.
+   * 사용자 정보는 Refresh Token 과 같이 저장되어 있으므로 MySQL 을 조회하지 않습니다.
+   */
   public TokenResponseDto reissueAccessToken(ReissueRequestDto requestDto) {
-    RefreshToken refreshToken = refreshTokenRepository.findByToken(requestDto.getRefresh())
-        .orElseThrow(
-            () -> new CustomException(messageSource.getMessage(
-                "refresh.not.found",
-                null,
-                CustomException.DEFAULT_ERROR_MESSAGE,
-                Locale.getDefault()
-            ), HttpStatus.NOT_FOUND));
-
-    User user = userRepository.findById(refreshToken.getUserId())
-        .orElseThrow(
-            () -> new CustomException(messageSource.getMessage(
-                "user.not.found",
-                null,
-                CustomException.DEFAULT_ERROR_MESSAGE,
-                Locale.getDefault()
-            ), HttpStatus.NOT_FOUND));
-
-    refreshTokenRepository.delete(refreshToken);
+    RotatedToken rotatedToken = refreshTokenStore.rotate(requestDto.getRefresh());
+    if (rotatedToken == null) {
+      throw new CustomException(messageSource.getMessage(
+          "refresh.not.found",
+          null,
+          CustomException.DEFAULT_ERROR_MESSAGE,
+          Locale.getDefault()
+      ), HttpStatus.NOT_FOUND);
+    }
 
     return TokenResponseDto.builder()
-        .access(jwtService.generateToken(user))
-        .refresh(reissueRefreshToken(user))
+        .access(jwtService.generateToken(
+            rotatedToken.getUserId(),
+            rotatedToken.getEmail(),
+            rotatedToken.getUsername(),
+            rotatedToken.getNickname(),
+            rotatedToken.getRole()))
+        .refresh(rotatedToken.getToken())
         .build();
   }
 
   public String reissueRefreshToken(User user) {
-    return refreshTokenRepository.save(RefreshToken.builder()
-        .token(UUID.randomUUID().toString())
-        .userId(user.getId())
-        .build()
-    ).getToken();
+    return refreshTokenStore.issue(user);
   }
 
-  public void logout(User user) {
-
-    RefreshToken refreshToken = refreshTokenRepository.findById(user.getId())
-        .orElseThrow(
-            () -> new CustomException(messageSource.getMessage(
-                "user.not.found",
-                null,
-                CustomException.DEFAULT_ERROR_MESSAGE,
-                Locale.getDefault()
-            ), HttpStatus.NOT_FOUND));
+  public void logout(Long userId) {
 
-    refreshTokenRepository.delete(refreshToken);
+    if (!refreshTokenStore.revoke(userId)) {
+      throw new CustomException(messageSource.getMessage(
+          "user.not.found",
+          null,
+          CustomException.DEFAULT_ERROR_MESSAGE,
+          Locale.getDefault()
+      ), HttpStatus.NOT_FOUND);
+    }
 
   }
 
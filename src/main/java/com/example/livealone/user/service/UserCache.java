@@ -0,0 +1,113 @@
+package com.example.livealone.user.service;
+
+import com.example.livealone.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * User 로컬 캐시 (id / email)
+ *
+ * 조회만 하는 곳에서 사용하며, 캐시된 User 는 준영속 상태이고 여러 요청이 같은 객체를 공유합니다.
+ * 수정할 때는 캐시된 객체를 바꾸지 말고 Repository 로 다시 조회한 엔티티를 수정해야 합니다. (UserService.updateUserInfo, registerAdmin)
+ * 사용자 정보가 바뀌면 Redis pub/sub 으로 모든 노드의 캐시를 비웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    public static final String INVALIDATE_TOPIC = "UserCache::invalidate";
+
+    private final RedissonClient redissonClient;
+
+    @Value("${user.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${user.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Long, User> usersById;
+    private Cache<String, Long> userIdsByEmail;
+    private RTopic invalidateTopic;
+
+    @PostConstruct
+    public void init() {
+        usersById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        userIdsByEmail = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+
+        invalidateTopic = redissonClient.getTopic(INVALIDATE_TOPIC, StringCodec.INSTANCE);
+        invalidateTopic.addListener(String.class, (channel, userId) -> invalidateLocal(Long.valueOf(userId)));
+    }
+
+    public User getById(Long userId, Function<Long, User> loader) {
+        return usersById.get(userId, loader);
+    }
+
+    public User getByEmail(String email, Function<String, User> loader) {
+        Long userId = userIdsByEmail.getIfPresent(email);
+        if (userId != null) {
+            User user = usersById.getIfPresent(userId);
+            if (user != null) {
+                return user;
+            }
+        }
+
+        User user = loader.apply(email);
+        usersById.put(user.getId(), user);
+        userIdsByEmail.put(email, user.getId());
+        return user;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출하면 커밋 후에 캐시를 비워, 커밋 전 값이 다시 캐시되지 않도록 합니다.
+     * @param userId
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidate(userId);
+                }
+            });
+            return;
+        }
+
+        publishInvalidate(userId);
+    }
+
+    private void publishInvalidate(Long userId) {
+        invalidateLocal(userId);
+        try {
+            invalidateTopic.publish(String.valueOf(userId));
+        } catch (Exception e) {
+            log.error("User 캐시 무효화 전파 실패 userId : {}, {}", userId, e.getMessage());
+        }
+    }
+
+    private void invalidateLocal(Long userId) {
+        User user = usersById.getIfPresent(userId);
+        usersById.invalidate(userId);
+        if (user != null) {
+            userIdsByEmail.invalidate(user.getEmail());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.example.livealone.user.dto.UserInfoRequestDto;
 import com.example.livealone.user.dto.UserInfoResponseDto;
 import com.example.livealone.user.entity.User;
 import com.example.livealone.user.mapper.UserMapper;
+import com.example.livealone.user.repository.RefreshTokenStore;
 import com.example.livealone.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import java.util.List;
@@ -31,6 +32,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final MessageSource messageSource;
     private final RedissonClient redissonClient;
+    private final UserCache userCache;
+    private final RefreshTokenStore refreshTokenStore;
 
     @Transactional
     public UserInfoResponseDto getUserInfo(Long userId) {
@@ -43,9 +46,11 @@ public class UserService {
     @Transactional
     public UserInfoResponseDto updateUserInfo(User user, UserInfoRequestDto userInfoRequestDto) {
 
-        User curUser = findUserById(user.getId());
+        User curUser = loadUserById(user.getId());
 
         curUser.updateUser(userInfoRequestDto.getNickname(), userInfoRequestDto.getBirthDay(), userInfoRequestDto.getAddress());
+        userCache.invalidate(curUser.getId());
+        refreshTokenStore.updateOwner(curUser);
 
         return UserMapper.toUserInfoResponseDto(curUser);
     }
@@ -65,7 +70,16 @@ public class UserService {
         return UserMapper.toUserAddressResponseDto(curUser);
     }
 
+    /**
+     * User 캐시를 통해 조회합니다. 반환된 User 를 수정하면 안 됩니다.
+     * @param userId
+     * @return
+     */
     public User findUserById(Long userId) {
+        return userCache.getById(userId, this::loadUserById);
+    }
+
+    private User loadUserById(Long userId) {
         return userRepository.findById(userId).orElseThrow(
             () -> new CustomException(messageSource.getMessage(
                 "user.not.found",
@@ -75,8 +89,24 @@ public class UserService {
             ), HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * 캐시된 User 는 여러 요청이 함께 보는 준영속 객체이므로, Repository 로 다시 조회한 엔티티의 권한을 바꿉니다.
+     * @param userId
+     */
+    @Transactional
+    public void registerAdmin(Long userId) {
+        User curUser = loadUserById(userId);
+
+        curUser.registerAdmin();
+        userCache.invalidate(curUser.getId());
+        refreshTokenStore.updateOwner(curUser);
+    }
+
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userCache.invalidate(savedUser.getId());
+        refreshTokenStore.updateOwner(savedUser);
+        return savedUser;
     }
   
     public Page<AdminUserListResponseDto> getAllUserListPageable(int page, int size) {
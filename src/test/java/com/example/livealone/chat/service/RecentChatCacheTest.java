@@ -0,0 +1,72 @@
+package com.example.livealone.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.livealone.chat.dto.ChatInitDto;
+import com.example.livealone.chat.entity.ChatMessage;
+import com.example.livealone.chat.repository.ChatMessageRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RecentChatCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ChatMessageRepository chatMessageRepository;
+    private RecentChatCache recentChatCache;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository = mock(ChatMessageRepository.class);
+        recentChatCache = new RecentChatCache(chatMessageRepository, objectMapper);
+    }
+
+    @Test
+    void seedsOnlyFromTheRequestedBroadcast() throws Exception {
+        when(chatMessageRepository.findTop30ByBroadcastIdOrderByIdDesc("7"))
+                .thenReturn(List.of(new ChatMessage("b", "7", "kim", "second"), new ChatMessage("a", "7", "lee", "first")));
+
+        assertThat(texts(recentChatCache.getInitReply("7"))).containsExactly("first", "second");
+        verify(chatMessageRepository, never()).findTop30ByBroadcastIdOrderByIdDesc("8");
+    }
+
+    @Test
+    void dropsChatsAlreadyInTheRingWhenSeeding() throws Exception {
+        recentChatCache.append("7", new ChatInitDto("lee", "second", "b"));
+        recentChatCache.append("7", new ChatInitDto("park", "third", "c"));
+        when(chatMessageRepository.findTop30ByBroadcastIdOrderByIdDesc("7"))
+                .thenReturn(List.of(new ChatMessage("b", "7", "lee", "second"), new ChatMessage("a", "7", "kim", "first")));
+
+        assertThat(texts(recentChatCache.getInitReply("7"))).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void skipsKafkaChatsAlreadyLoadedFromMongo() throws Exception {
+        when(chatMessageRepository.findTop30ByBroadcastIdOrderByIdDesc("7"))
+                .thenReturn(List.of(new ChatMessage("a", "7", "kim", "first")));
+        recentChatCache.getInitReply("7");
+
+        recentChatCache.append("7", new ChatInitDto("kim", "first", "a"));
+        recentChatCache.append("7", new ChatInitDto("lee", "second", "b"));
+
+        assertThat(texts(recentChatCache.getInitReply("7"))).containsExactly("first", "second");
+        verify(chatMessageRepository).findTop30ByBroadcastIdOrderByIdDesc(anyString());
+    }
+
+    private List<String> texts(String initReply) throws Exception {
+        String message = objectMapper.readTree(initReply).get("message").asText();
+        List<String> texts = new ArrayList<>();
+        for (JsonNode chat : objectMapper.readTree(message)) {
+            texts.add(chat.get("initText").asText());
+        }
+        return texts;
+    }
+}
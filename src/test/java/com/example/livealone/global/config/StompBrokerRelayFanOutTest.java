@@ -0,0 +1,157 @@
+package com.example.livealone.global.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.example.livealone.broadcast.service.BroadcastService;
+import com.example.livealone.chat.controller.ChatController;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * relay 모드에서 /topic 으로 보낸 메시지가 다른 노드에 붙은 시청자 모두에게 전달되는지 확인합니다.
+ *
+ * RabbitMQ 대신 /queue 를 anycast, /topic 을 multicast 로 처리하는 내장 Artemis 를 STOMP 브로커로 띄우고,
+ * 서버와 같은 StompBrokerRelayMessageHandler 로 발행한 메시지를 브로커에 직접 붙은 두 구독자가 받는지 봅니다.
+ */
+class StompBrokerRelayFanOutTest {
+
+    @TempDir
+    Path brokerDir;
+
+    private EmbeddedActiveMQ broker;
+    private StompBrokerRelayMessageHandler relay;
+    private ReactorNettyTcpStompClient stompClient;
+    private ThreadPoolTaskScheduler receiptScheduler;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        port = findFreePort();
+
+        Configuration configuration = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJournalDirectory(Files.createDirectories(brokerDir.resolve("journal")).toString())
+                .setBindingsDirectory(Files.createDirectories(brokerDir.resolve("bindings")).toString())
+                .setPagingDirectory(Files.createDirectories(brokerDir.resolve("paging")).toString())
+                .setLargeMessagesDirectory(Files.createDirectories(brokerDir.resolve("large")).toString())
+                .addAcceptorConfiguration("stomp",
+                        "tcp://127.0.0.1:" + port + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+        broker = new EmbeddedActiveMQ().setConfiguration(configuration);
+        broker.start();
+
+        relay = new StompBrokerRelayMessageHandler(new ExecutorSubscribableChannel(), new ExecutorSubscribableChannel(),
+                new ExecutorSubscribableChannel(), List.of(WebSocketConfig.TOPIC_PREFIX, WebSocketConfig.QUEUE_PREFIX));
+        relay.setRelayHost("127.0.0.1");
+        relay.setRelayPort(port);
+        relay.start();
+        await().atMost(Duration.ofSeconds(10)).until(relay::isBrokerAvailable);
+
+        receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.initialize();
+
+        stompClient = new ReactorNettyTcpStompClient("127.0.0.1", port);
+        stompClient.setMessageConverter(new StringMessageConverter());
+        stompClient.setTaskScheduler(receiptScheduler);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sessions.forEach(StompSession::disconnect);
+        if (stompClient != null) {
+            stompClient.shutdown();
+        }
+        if (receiptScheduler != null) {
+            receiptScheduler.shutdown();
+        }
+        if (relay != null) {
+            relay.stop();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void chatMessageReachesEverySubscriber() throws Exception {
+        assertFanOut(ChatController.CHAT_DESTINATION, "chat");
+    }
+
+    @Test
+    void broadcastStateReachesEverySubscriber() throws Exception {
+        assertFanOut(BroadcastService.BROADCAST_DESTINATION, "broadcast-state");
+    }
+
+    private void assertFanOut(String destination, String payload) throws Exception {
+        Queue<String> first = subscribe(destination);
+        Queue<String> second = subscribe(destination);
+
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(relay.getBrokerChannel());
+        messagingTemplate.setMessageConverter(new StringMessageConverter());
+        messagingTemplate.convertAndSend(destination, payload);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> !first.isEmpty() && !second.isEmpty());
+        assertThat(first).containsExactly(payload);
+        assertThat(second).containsExactly(payload);
+    }
+
+    private Queue<String> subscribe(String destination) throws Exception {
+        StompSession session = stompClient.connectAsync(new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        sessions.add(session);
+        session.setAutoReceipt(true);
+
+        Queue<String> received = new ConcurrentLinkedQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        StompSession.Subscription subscription = session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((String) payload);
+            }
+        });
+        subscription.addReceiptTask(subscribed::countDown);
+        assertThat(subscribed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        return received;
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.livealone.order.service;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.livealone.order.repository.OrderDeadlineStore;
+import com.example.livealone.product.service.StockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OrderExpiryReaperTest {
+
+    private OrderDeadlineStore orderDeadlineStore;
+    private OrderService orderService;
+    private StockService stockService;
+    private OrderExpiryReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        orderDeadlineStore = mock(OrderDeadlineStore.class);
+        orderService = mock(OrderService.class);
+        stockService = mock(StockService.class);
+        reaper = new OrderExpiryReaper(orderDeadlineStore, orderService, stockService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reaper, "batchSize", 2);
+    }
+
+    @Test
+    void releasesStockOncePerProductThenRemovesDeadlines() {
+        when(orderDeadlineStore.claimExpired(anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(orderService.deleteExpiredOrders(List.of(1L))).thenReturn(Map.of(10L, 5));
+
+        reaper.reapExpiredOrders();
+
+        InOrder inOrder = inOrder(stockService, orderDeadlineStore);
+        inOrder.verify(stockService).releaseOrRetry(10L, 5);
+        inOrder.verify(orderDeadlineStore).removeAll(List.of(1L));
+    }
+
+    @Test
+    void keepsDeadlinesWhenOrdersBeingPaidAreSkipped() {
+        when(orderDeadlineStore.claimExpired(anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(orderService.deleteExpiredOrders(List.of(1L))).thenReturn(Map.of());
+
+        reaper.reapExpiredOrders();
+
+        verify(stockService, never()).releaseOrRetry(anyLong(), anyInt());
+        verify(orderDeadlineStore).removeAll(List.of(1L));
+    }
+
+    @Test
+    void leavesClaimedOrdersForTheNextLeaseWhenDeleteFails() {
+        when(orderDeadlineStore.claimExpired(anyLong(), anyInt())).thenReturn(List.of(1L));
+        when(orderService.deleteExpiredOrders(List.of(1L))).thenThrow(new IllegalStateException("lock timeout"));
+
+        reaper.reapExpiredOrders();
+
+        verify(stockService, never()).releaseOrRetry(anyLong(), anyInt());
+        verify(orderDeadlineStore, never()).removeAll(List.of(1L));
+    }
+
+    @Test
+    void drainsFullBatchesUntilFewerThanBatchSizeAreClaimed() {
+        when(orderDeadlineStore.claimExpired(anyLong(), anyInt()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L))
+                .thenReturn(List.of(4L));
+        when(orderService.deleteExpiredOrders(List.of(1L, 2L))).thenReturn(Map.of(10L, 3));
+        when(orderService.deleteExpiredOrders(List.of(3L))).thenReturn(Map.of(10L, 1));
+
+        reaper.reapExpiredOrders();
+
+        verify(orderDeadlineStore, times(2)).claimExpired(anyLong(), anyInt());
+        verify(stockService).releaseOrRetry(10L, 3);
+        verify(stockService).releaseOrRetry(10L, 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.livealone.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.livealone.broadcast.service.BroadcastService;
+import com.example.livealone.global.ratelimit.RateLimiter;
+import com.example.livealone.order.entity.Order;
+import com.example.livealone.order.repository.OrderDeadlineStore;
+import com.example.livealone.order.repository.OrderRepository;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.repository.PaymentRepository;
+import com.example.livealone.product.entity.Product;
+import com.example.livealone.product.service.ProductService;
+import com.example.livealone.product.service.StockService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+
+class OrderServiceDeleteUnpaidTest {
+
+    private OrderRepository orderRepository;
+    private PaymentRepository paymentRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        orderService = new OrderService(orderRepository, mock(ProductService.class), mock(StockService.class),
+                mock(BroadcastService.class), mock(MessageSource.class), mock(RateLimiter.class),
+                mock(OrderDeadlineStore.class), paymentRepository);
+    }
+
+    @Test
+    void sumsReleasedQuantityPerProductAndSkipsOrdersBeingPaid() {
+        List<Order> orders = List.of(order(1L, 10L, 2), order(2L, 10L, 3), order(3L, 20L, 1), order(4L, 20L, 5));
+        when(orderRepository.findAllForUpdateByIdIn(List.of(1L, 2L, 3L, 4L))).thenReturn(orders);
+        when(paymentRepository.findOrderIdsByStatusIn(anyCollection(),
+                eq(List.of(PaymentStatus.APPROVING, PaymentStatus.COMPLETED)))).thenReturn(List.of(4L));
+        when(orderRepository.deleteAllByIdIn(Set.of(1L, 2L, 3L))).thenReturn(3);
+
+        Map<Long, Integer> released = orderService.deleteExpiredOrders(List.of(1L, 2L, 3L, 4L));
+
+        assertThat(released).containsOnly(Map.entry(10L, 5), Map.entry(20L, 1));
+        verify(paymentRepository).deleteAllByOrderIdIn(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void releasesNothingWhenEveryOrderIsBeingPaid() {
+        List<Order> orders = List.of(order(1L, 10L, 2));
+        when(orderRepository.findAllForUpdateByIdIn(List.of(1L))).thenReturn(orders);
+        when(paymentRepository.findOrderIdsByStatusIn(anyCollection(), anyList())).thenReturn(List.of(1L));
+
+        assertThat(orderService.deleteUnpaidOrder(1L)).isEmpty();
+        verify(orderRepository, never()).deleteAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void releasesNothingWhenAnotherRequestDeletedTheOrdersFirst() {
+        when(orderRepository.findAllForUpdateByIdIn(List.of(1L))).thenReturn(List.of());
+
+        assertThat(orderService.deleteUnpaidOrder(1L)).isEmpty();
+        verify(paymentRepository, never()).updateStatusByOrderIds(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void failsWhenDeletedCountDoesNotMatch() {
+        List<Order> orders = List.of(order(1L, 10L, 2), order(2L, 10L, 3));
+        when(orderRepository.findAllForUpdateByIdIn(List.of(1L, 2L))).thenReturn(orders);
+        when(paymentRepository.findOrderIdsByStatusIn(anyCollection(), anyList())).thenReturn(List.of());
+        when(orderRepository.deleteAllByIdIn(anyCollection())).thenReturn(1);
+
+        assertThatThrownBy(() -> orderService.deleteExpiredOrders(List.of(1L, 2L)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Order order(Long orderId, Long productId, int quantity) {
+        Product product = mock(Product.class);
+        when(product.getId()).thenReturn(productId);
+
+        Order order = mock(Order.class);
+        when(order.getId()).thenReturn(orderId);
+        when(order.getProduct()).thenReturn(product);
+        when(order.getQuantity()).thenReturn(quantity);
+        return order;
+    }
+}
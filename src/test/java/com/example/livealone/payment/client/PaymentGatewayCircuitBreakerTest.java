@@ -0,0 +1,104 @@
+package com.example.livealone.payment.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.livealone.payment.client.PaymentGatewayCircuitBreaker.State;
+
+class PaymentGatewayCircuitBreakerTest {
+
+	private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	private final AtomicLong now = new AtomicLong();
+	private PaymentGatewayCircuitBreaker circuitBreaker;
+
+	@BeforeEach
+	void setUp() {
+		circuitBreaker = new PaymentGatewayCircuitBreaker(3, OPEN_NANOS, now::get);
+	}
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		fail(2);
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+		fail(1);
+
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void successResetsConsecutiveFailures() {
+		fail(2);
+		circuitBreaker.onSuccess();
+		fail(2);
+
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void allowsSingleTrialCallAfterOpenPeriod() {
+		fail(3);
+
+		now.addAndGet(OPEN_NANOS - 1);
+		assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+		now.addAndGet(1);
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+		assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+	}
+
+	@Test
+	void closesWhenTrialCallSucceeds() {
+		openAndStartTrialCall();
+
+		circuitBreaker.onSuccess();
+
+		assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void reopensWhenTrialCallFails() {
+		openAndStartTrialCall();
+
+		circuitBreaker.onFailure();
+
+		assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+		assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+		now.addAndGet(OPEN_NANOS);
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+	}
+
+	@Test
+	void cancelledTrialCallFreesTheSlot() {
+		openAndStartTrialCall();
+
+		circuitBreaker.onCancel();
+
+		assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+	}
+
+	private void openAndStartTrialCall() {
+		fail(3);
+		now.addAndGet(OPEN_NANOS);
+		assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+	}
+
+	private void fail(int times) {
+		for (int i = 0; i < times; i++) {
+			circuitBreaker.onFailure();
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package com.example.livealone.payment.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.payment.controller.StubPaymentGatewayController;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * stub-pg 프로필의 PG 스텁을 띄우고 PaymentGatewayClient 의 bulkhead / 타임아웃 / 서킷 브레이커 동작을 확인합니다.
+ *
+ * 느린 스텁(latency-ms)과 항상 500 을 반환하는 스텁(failure-rate=1)을 따로 띄웁니다.
+ */
+class PaymentGatewayClientStubTest {
+
+	private static final String READY_PATH = "/online/v1/payment/ready";
+	private static final long STUB_LATENCY_MILLIS = 500;
+
+	private static ConfigurableApplicationContext slowStub;
+	private static ConfigurableApplicationContext failingStub;
+
+	private PaymentGatewayClient client;
+
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({
+		ServletWebServerFactoryAutoConfiguration.class,
+		DispatcherServletAutoConfiguration.class,
+		WebMvcAutoConfiguration.class,
+		HttpMessageConvertersAutoConfiguration.class,
+		JacksonAutoConfiguration.class
+	})
+	@Import(StubPaymentGatewayController.class)
+	static class StubServer {
+	}
+
+	@BeforeAll
+	static void startStubs() {
+		slowStub = startStub(STUB_LATENCY_MILLIS, 0);
+		failingStub = startStub(0, 1);
+	}
+
+	@AfterAll
+	static void stopStubs() {
+		if (slowStub != null) {
+			slowStub.close();
+		}
+		if (failingStub != null) {
+			failingStub.close();
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (client != null) {
+			client.destroy();
+		}
+	}
+
+	@Test
+	void bulkheadRejectsCallsOverTheLimitWith503() {
+		client = createClient(slowStub, 1, 5);
+
+		CompletableFuture<JsonNode> first = client.post(PaymentGateway.KAKAO, READY_PATH, Map.of());
+		CompletableFuture<JsonNode> second = client.post(PaymentGateway.KAKAO, READY_PATH, Map.of());
+
+		assertServiceUnavailable(second);
+		assertThat(first.join().get("tid").asText()).startsWith("T");
+	}
+
+	@Test
+	void responseTimeoutIsUnknownAndOpensTheCircuit() {
+		client = createClient(slowStub, 10, 1);
+
+		Throwable timeout = catchThrowable(() -> client.post(PaymentGateway.KAKAO, READY_PATH, Map.of(),
+			Duration.ofMillis(STUB_LATENCY_MILLIS / 5)).join());
+
+		assertThat(PaymentGatewayFailure.of(timeout)).isEqualTo(PaymentGatewayFailure.UNKNOWN);
+		assertServiceUnavailable(client.post(PaymentGateway.KAKAO, READY_PATH, Map.of()));
+	}
+
+	@Test
+	void serverErrorsOpenTheCircuit() {
+		client = createClient(failingStub, 10, 2);
+
+		for (int i = 0; i < 2; i++) {
+			Throwable error = catchThrowable(() -> client.post(PaymentGateway.KAKAO, READY_PATH, Map.of()).join());
+			assertThat(error).hasCauseInstanceOf(WebClientResponseException.InternalServerError.class);
+			assertThat(PaymentGatewayFailure.of(error)).isEqualTo(PaymentGatewayFailure.UNKNOWN);
+		}
+
+		assertServiceUnavailable(client.post(PaymentGateway.KAKAO, READY_PATH, Map.of()));
+	}
+
+	@Test
+	void clientErrorsDoNotCountAsFailures() {
+		client = createClient(slowStub, 10, 1);
+
+		for (int i = 0; i < 3; i++) {
+			Throwable error = catchThrowable(() -> client.post(PaymentGateway.KAKAO, "/not-found", Map.of()).join());
+			assertThat(error).hasCauseInstanceOf(WebClientResponseException.NotFound.class);
+			assertThat(PaymentGatewayFailure.of(error)).isEqualTo(PaymentGatewayFailure.DECLINED);
+		}
+
+		assertThat(client.post(PaymentGateway.KAKAO, READY_PATH, Map.of()).join().has("tid")).isTrue();
+	}
+
+	/**
+	 * 거절된 호출은 PG 에 전달되지 않았으므로 NOT_SENT 이며, 결제 승인에서는 결제 대기로 되돌리고 503 으로 응답합니다.
+	 */
+	private static void assertServiceUnavailable(CompletableFuture<JsonNode> future) {
+		assertThat(future).isCompletedExceptionally();
+
+		Throwable error = catchThrowable(future::join);
+		assertThat(error).isInstanceOf(CompletionException.class).hasCauseInstanceOf(CustomException.class);
+		assertThat(((CustomException)error.getCause()).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(PaymentGatewayFailure.of(error)).isEqualTo(PaymentGatewayFailure.NOT_SENT);
+	}
+
+	private static ConfigurableApplicationContext startStub(long latencyMillis, double failureRate) {
+		return new SpringApplicationBuilder(StubServer.class)
+			.profiles("stub-pg")
+			.properties(
+				"spring.config.location=optional:classpath:/payment-stub-test/",
+				"server.port=0",
+				"payment.stub.latency-ms=" + latencyMillis,
+				"payment.stub.failure-rate=" + failureRate)
+			.run();
+	}
+
+	private static PaymentGatewayClient createClient(ConfigurableApplicationContext stub, int maxConcurrentCalls,
+		int failureThreshold) {
+		int port = ((WebServerApplicationContext)stub).getWebServer().getPort();
+
+		PaymentGatewayClient client = new PaymentGatewayClient(new ObjectMapper(), new SimpleMeterRegistry(),
+			new StaticMessageSource());
+		ReflectionTestUtils.setField(client, "kakaoBaseUrl", "http://localhost:" + port + "/payment/stub/kakao");
+		ReflectionTestUtils.setField(client, "kakaoSecretKey", "test");
+		ReflectionTestUtils.setField(client, "tossBaseUrl", "http://localhost:" + port + "/payment/stub/toss");
+		ReflectionTestUtils.setField(client, "connectTimeoutMillis", 1000);
+		ReflectionTestUtils.setField(client, "responseTimeoutMillis", 3000L);
+		ReflectionTestUtils.setField(client, "maxConnections", 10);
+		ReflectionTestUtils.setField(client, "maxConcurrentCalls", maxConcurrentCalls);
+		ReflectionTestUtils.setField(client, "failureThreshold", failureThreshold);
+		ReflectionTestUtils.setField(client, "openSeconds", 30L);
+		client.init();
+		return client;
+	}
+}
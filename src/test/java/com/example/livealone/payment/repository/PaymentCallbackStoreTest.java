@@ -0,0 +1,151 @@
+package com.example.livealone.payment.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.livealone.payment.client.PaymentGateway;
+
+import redis.embedded.RedisServer;
+
+/**
+ * PG 콜백 선점 / 결과 저장을 내장 Redis 로 확인합니다.
+ */
+class PaymentCallbackStoreTest {
+
+	private static final String CALLBACK_ID = "1";
+
+	private static RedisServer redisServer;
+	private static RedissonClient redissonClient;
+
+	private PaymentCallbackStore paymentCallbackStore;
+
+	@BeforeAll
+	static void startRedis() throws IOException {
+		int port = findFreePort();
+		redisServer = RedisServer.newRedisServer().port(port).bind("127.0.0.1").build();
+		redisServer.start();
+
+		Config config = new Config();
+		config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+		redissonClient = Redisson.create(config);
+	}
+
+	@AfterAll
+	static void stopRedis() throws IOException {
+		if (redissonClient != null) {
+			redissonClient.shutdown();
+		}
+		if (redisServer != null) {
+			redisServer.stop();
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		paymentCallbackStore = new PaymentCallbackStore(redissonClient);
+		ReflectionTestUtils.setField(paymentCallbackStore, "processingTtlSeconds", 60L);
+		ReflectionTestUtils.setField(paymentCallbackStore, "ttlHours", 24L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		redissonClient.getKeys().flushall();
+	}
+
+	@Test
+	void onlyFirstCallbackClaimsProcessing() {
+		assertThat(paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID)).isNull();
+
+		assertThat(paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID)).isEqualTo(PaymentCallbackStore.PROCESSING);
+	}
+
+	@Test
+	void completedOutcomeIsReturnedToLaterCallbacks() {
+		paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID);
+
+		paymentCallbackStore.complete(PaymentGateway.KAKAO, CALLBACK_ID, "COMPLETED");
+
+		assertThat(paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID)).isEqualTo("COMPLETED");
+		assertThat(redissonClient.getBucket(PaymentCallbackStore.REDIS_CALLBACK_KEY + "kakao:" + CALLBACK_ID)
+			.remainTimeToLive()).isGreaterThan(Duration.ofHours(23).toMillis());
+	}
+
+	@Test
+	void abandonedCallbackCanBeClaimedAgain() {
+		paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID);
+
+		paymentCallbackStore.abandon(PaymentGateway.KAKAO, CALLBACK_ID);
+
+		assertThat(paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID)).isNull();
+	}
+
+	@Test
+	void processingClaimExpiresWhenServerDiesMidway() {
+		ReflectionTestUtils.setField(paymentCallbackStore, "processingTtlSeconds", 1L);
+		paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID);
+
+		await().atMost(Duration.ofSeconds(5))
+			.until(() -> paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID) == null);
+	}
+
+	@Test
+	void gatewaysDoNotShareCallbackIds() {
+		paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID);
+
+		assertThat(paymentCallbackStore.begin(PaymentGateway.TOSS, CALLBACK_ID)).isNull();
+	}
+
+	@Test
+	void onlyOneConcurrentCallbackClaimsProcessing() throws Exception {
+		int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<String>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return paymentCallbackStore.begin(PaymentGateway.KAKAO, CALLBACK_ID);
+				}));
+			}
+			start.countDown();
+
+			List<String> outcomes = new ArrayList<>();
+			for (Future<String> future : futures) {
+				outcomes.add(future.get());
+			}
+			assertThat(outcomes).containsOnlyOnce((String)null);
+			assertThat(outcomes).filteredOn(outcome -> outcome != null)
+				.hasSize(threads - 1)
+				.containsOnly(PaymentCallbackStore.PROCESSING);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static int findFreePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
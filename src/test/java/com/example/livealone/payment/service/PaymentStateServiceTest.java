@@ -0,0 +1,290 @@
+package com.example.livealone.payment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.livealone.broadcast.entity.Broadcast;
+import com.example.livealone.broadcast.entity.BroadcastStatus;
+import com.example.livealone.broadcast.repository.BroadcastRepository;
+import com.example.livealone.global.config.JPAConfig;
+import com.example.livealone.global.config.URIConfig;
+import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.order.entity.Order;
+import com.example.livealone.order.entity.OrderStatus;
+import com.example.livealone.order.repository.OrderDeadlineStore;
+import com.example.livealone.order.repository.OrderRepository;
+import com.example.livealone.order.service.OrderService;
+import com.example.livealone.payment.client.PaymentGateway;
+import com.example.livealone.payment.client.PaymentGatewayClient;
+import com.example.livealone.payment.dto.PaymentRequestDto;
+import com.example.livealone.payment.dto.PaymentResponseDto;
+import com.example.livealone.payment.entity.Payment;
+import com.example.livealone.payment.entity.PaymentMethod;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.payment.repository.PaymentCallbackStore;
+import com.example.livealone.payment.repository.PaymentRepository;
+import com.example.livealone.product.entity.Product;
+import com.example.livealone.product.repository.ProductRepository;
+import com.example.livealone.product.service.StockService;
+import com.example.livealone.reservation.entity.Reservations;
+import com.example.livealone.reservation.repository.ReservationRepository;
+import com.example.livealone.user.entity.Social;
+import com.example.livealone.user.entity.User;
+import com.example.livealone.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 결제 상태 전이(REQUESTED -> APPROVING ...)가 조건부 UPDATE 로 한 요청만 성공하는지 확인합니다.
+ *
+ * 여러 스레드가 각자 커밋해야 하므로 테스트 트랜잭션을 쓰지 않고, 데이터는 테스트가 끝날 때 지웁니다.
+ */
+@DataJpaTest(properties = {
+	"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.properties.hibernate.show_sql=false",
+	"logging.level.root=INFO"
+})
+@Import({JPAConfig.class, PaymentStateService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentStateServiceTest {
+
+	private static final int CONCURRENT_REQUESTS = 8;
+
+	@Autowired
+	private PaymentStateService paymentStateService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private BroadcastRepository broadcastRepository;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private Payment payment;
+
+	@BeforeEach
+	void setUp() {
+		User user = userRepository.save(User.builder()
+			.username("buyer")
+			.email("buyer@livealone.shop")
+			.social(Social.KAKAO)
+			.build());
+		Product product = productRepository.save(Product.builder()
+			.name("product")
+			.price(1000)
+			.quantity(10L)
+			.introduction("introduction")
+			.seller(user)
+			.build());
+		Reservations reservation = reservationRepository.save(Reservations.builder()
+			.code("code")
+			.airTime(LocalDateTime.now())
+			.streamer(user)
+			.build());
+		Broadcast broadcast = broadcastRepository.save(Broadcast.builder()
+			.title("broadcast")
+			.broadcastStatus(BroadcastStatus.ONAIR)
+			.streamer(user)
+			.product(product)
+			.reservation(reservation)
+			.build());
+		Order order = orderRepository.save(Order.builder()
+			.quantity(1)
+			.orderStatus(OrderStatus.COMPLETED)
+			.user(user)
+			.product(product)
+			.broadcast(broadcast)
+			.build());
+		payment = paymentRepository.save(Payment.builder()
+			.user(user)
+			.order(order)
+			.amount(1000)
+			.paymentMethod(PaymentMethod.KAKAO_PAY)
+			.status(PaymentStatus.REQUESTED)
+			.tid("T1")
+			.orderQuantity(1)
+			.shippingAddress("address")
+			.build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		paymentRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		broadcastRepository.deleteAllInBatch();
+		reservationRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void transitionsOnlyFromTheExpectedStatus() {
+		assertThat(paymentStateService.transition(payment.getId(), PaymentStatus.APPROVING, PaymentStatus.COMPLETED)).isFalse();
+		assertThat(paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.APPROVING)).isTrue();
+		assertThat(paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.APPROVING)).isFalse();
+
+		assertThat(statusOf(payment)).isEqualTo(PaymentStatus.APPROVING);
+	}
+
+	@Test
+	void completedAndFailedAreTerminal() {
+		paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.APPROVING);
+		assertThat(paymentStateService.transition(payment.getId(), PaymentStatus.APPROVING, PaymentStatus.COMPLETED)).isTrue();
+
+		assertThat(paymentStateService.transition(payment.getId(), PaymentStatus.APPROVING, PaymentStatus.FAILED)).isFalse();
+		assertThat(statusOf(payment)).isEqualTo(PaymentStatus.COMPLETED);
+	}
+
+	@Test
+	void onlyOneConcurrentTransitionWins() throws Exception {
+		List<Boolean> results = runConcurrently(
+			() -> paymentStateService.transition(payment.getId(), PaymentStatus.REQUESTED, PaymentStatus.APPROVING));
+
+		assertThat(results).containsOnlyOnce(true);
+		assertThat(statusOf(payment)).isEqualTo(PaymentStatus.APPROVING);
+	}
+
+	/**
+	 * 콜백 선점이 풀린 뒤 같은 승인 요청이 동시에 들어와도, APPROVING 으로 바꾼 요청만 PG 를 호출합니다.
+	 */
+	@Test
+	void concurrentApprovalsCallTheGatewayOnce() throws Exception {
+		PaymentGatewayClient paymentGatewayClient = mock(PaymentGatewayClient.class);
+		when(paymentGatewayClient.post(eq(PaymentGateway.KAKAO), anyString(), anyMap(), any(Duration.class)))
+			.thenReturn(new CompletableFuture<JsonNode>());
+		PaymentService paymentService = createPaymentService(paymentGatewayClient, mock(StockService.class));
+		Long orderId = payment.getOrder().getId();
+		Long userId = payment.getUser().getId();
+
+		List<PaymentResponseDto> responses = runConcurrently(
+			() -> paymentService.approveKakaoPayPayment("pg-token", orderId, userId).getNow(null));
+
+		verify(paymentGatewayClient, times(1)).post(eq(PaymentGateway.KAKAO), anyString(), anyMap(), any(Duration.class));
+		assertThat(responses).filteredOn(response -> response != null)
+			.hasSize(CONCURRENT_REQUESTS - 1)
+			.allMatch(response -> PaymentStatus.APPROVING.name().equals(response.getStatus()));
+		assertThat(statusOf(payment)).isEqualTo(PaymentStatus.APPROVING);
+	}
+
+	/**
+	 * PG 가 승인한 뒤 재고 확정이 실패해도 결제는 완료로 응답합니다.
+	 */
+	@Test
+	void approvalStaysCompletedWhenFollowUpFails() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		PaymentGatewayClient paymentGatewayClient = mock(PaymentGatewayClient.class);
+		when(paymentGatewayClient.post(eq(PaymentGateway.KAKAO), anyString(), anyMap(), any(Duration.class)))
+			.thenReturn(CompletableFuture.completedFuture(objectMapper.createObjectNode()
+				.put("created_at", "2024-01-01T00:00:00")
+				.put("approved_at", "2024-01-01T00:00:01")));
+		StockService stockService = mock(StockService.class);
+		doThrow(new IllegalStateException("redis down")).when(stockService).confirm(any(), anyInt());
+		PaymentService paymentService = createPaymentService(paymentGatewayClient, stockService);
+
+		PaymentResponseDto response = paymentService.approveKakaoPayPayment("pg-token", payment.getOrder().getId(),
+			payment.getUser().getId()).join();
+
+		assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED.name());
+		assertThat(statusOf(payment)).isEqualTo(PaymentStatus.COMPLETED);
+	}
+
+	/**
+	 * 같은 주문으로 다시 들어온 결제 준비 요청은 409 로 거절하고, 먼저 만든 결제는 그대로 둡니다.
+	 */
+	@Test
+	void secondRequestForTheSameOrderIsRejected() {
+		PaymentRequestDto requestDto = PaymentRequestDto.builder()
+			.userId(payment.getUser().getId())
+			.orderId(payment.getOrder().getId())
+			.amount(1000)
+			.orderQuantity(1)
+			.shippingAddress("address")
+			.build();
+
+		assertThatThrownBy(() -> paymentStateService.request(requestDto, PaymentMethod.KAKAO_PAY))
+			.isInstanceOfSatisfying(CustomException.class,
+				e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+		assertThat(statusOf(payment)).isEqualTo(PaymentStatus.REQUESTED);
+		assertThat(paymentRepository.count()).isEqualTo(1);
+	}
+
+	private PaymentService createPaymentService(PaymentGatewayClient paymentGatewayClient, StockService stockService) {
+		PaymentService paymentService = new PaymentService(paymentRepository, paymentGatewayClient, paymentStateService,
+			mock(PaymentCallbackStore.class), mock(OrderDeadlineStore.class), new ObjectMapper(), stockService,
+			mock(OrderService.class), mock(URIConfig.class));
+		ReflectionTestUtils.setField(paymentService, "cid", "TC0ONETIME");
+		ReflectionTestUtils.setField(paymentService, "approveResponseTimeoutMillis", 10000L);
+		return paymentService;
+	}
+
+	private PaymentStatus statusOf(Payment payment) {
+		return paymentRepository.findById(payment.getId()).orElseThrow().getStatus();
+	}
+
+	private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
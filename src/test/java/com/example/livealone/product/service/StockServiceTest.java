@@ -0,0 +1,270 @@
+package com.example.livealone.product.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.livealone.global.exception.CustomException;
+import com.example.livealone.order.repository.OrderRepository;
+import com.example.livealone.payment.entity.PaymentStatus;
+import com.example.livealone.product.entity.Product;
+import com.example.livealone.product.entity.StockRelease;
+import com.example.livealone.product.repository.ProductRepository;
+import com.example.livealone.product.repository.StockReleaseRepository;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.springframework.context.support.StaticMessageSource;
+import redis.embedded.RedisServer;
+
+/**
+ * 재고 Lua 스크립트를 내장 Redis 로 확인합니다.
+ */
+class StockServiceTest {
+
+  private static final Long PRODUCT_ID = 1L;
+  private static final long DB_QUANTITY = 10L;
+
+  private static RedisServer redisServer;
+  private static RedissonClient redissonClient;
+
+  private ProductRepository productRepository;
+  private OrderRepository orderRepository;
+  private StockReleaseRepository stockReleaseRepository;
+  private StockService stockService;
+
+  @BeforeAll
+  static void startRedis() throws IOException {
+    int port = findFreePort();
+    redisServer = RedisServer.newRedisServer().port(port).bind("127.0.0.1").build();
+    redisServer.start();
+
+    Config config = new Config();
+    config.useSingleServer().setAddress("redis://127.0.0.1:" + port);
+    redissonClient = Redisson.create(config);
+  }
+
+  @AfterAll
+  static void stopRedis() throws IOException {
+    if (redissonClient != null) {
+      redissonClient.shutdown();
+    }
+    if (redisServer != null) {
+      redisServer.stop();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    Product product = mock(Product.class);
+    when(product.getQuantity()).thenReturn(DB_QUANTITY);
+
+    productRepository = mock(ProductRepository.class);
+    when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+
+    orderRepository = mock(OrderRepository.class);
+    stockReleaseRepository = mock(StockReleaseRepository.class);
+
+    stockService = new StockService(productRepository, orderRepository, stockReleaseRepository,
+        new StaticMessageSource(), redissonClient);
+  }
+
+  @AfterEach
+  void tearDown() {
+    redissonClient.getKeys().flushall();
+  }
+
+  @Test
+  void reserveLoadsStockFromDatabaseOnlyOnce() {
+    assertThat(stockService.reserve(PRODUCT_ID, 3)).isTrue();
+    assertThat(stockService.reserve(PRODUCT_ID, 2)).isTrue();
+
+    verify(productRepository, times(1)).findById(PRODUCT_ID);
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(5);
+    assertThat(reserved()).isEqualTo(5);
+    assertThat(redissonClient.getSet(StockService.REDIS_STOCK_DIRTY_KEY, StringCodec.INSTANCE).contains("1")).isTrue();
+  }
+
+  @Test
+  void reserveFailsWithoutGoingNegative() {
+    assertThat(stockService.reserve(PRODUCT_ID, 8)).isTrue();
+
+    assertThat(stockService.reserve(PRODUCT_ID, 3)).isFalse();
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(2);
+    assertThat(reserved()).isEqualTo(8);
+  }
+
+  @Test
+  void concurrentReservesNeverOversell() throws Exception {
+    stockService.getAvailable(PRODUCT_ID);
+
+    List<Boolean> results = runConcurrently(32, () -> stockService.reserve(PRODUCT_ID, 1));
+
+    assertThat(results).filteredOn(Boolean::booleanValue).hasSize((int) DB_QUANTITY);
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isZero();
+    assertThat(reserved()).isEqualTo(DB_QUANTITY);
+  }
+
+  @Test
+  void releaseRestoresOnlyReservedQuantity() {
+    stockService.reserve(PRODUCT_ID, 2);
+
+    stockService.release(PRODUCT_ID, 3);
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(10);
+    assertThat(reserved()).isZero();
+  }
+
+  @Test
+  void releaseLoadsStockWhenCounterIsMissing() {
+    stockService.release(PRODUCT_ID, 2);
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(10);
+    verify(productRepository, times(1)).findById(PRODUCT_ID);
+  }
+
+  /**
+   * 카운터를 잃으면 미결제 주문 수량을 예약으로 다시 잡고, 그 주문이 만료되면 원래 수량으로 돌아갑니다.
+   */
+  @Test
+  void reloadKeepsReservationsOfOpenOrders() {
+    when(orderRepository.sumReservedQuantityByProductId(PRODUCT_ID, PaymentStatus.COMPLETED)).thenReturn(4L);
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(6);
+    assertThat(reserved()).isEqualTo(4);
+
+    stockService.release(PRODUCT_ID, 4);
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(10);
+  }
+
+  @Test
+  void flushWritesUnsoldQuantity() {
+    stockService.reserve(PRODUCT_ID, 3);
+    stockService.flushStock();
+    verify(productRepository).updateQuantity(PRODUCT_ID, DB_QUANTITY);
+
+    stockService.confirm(PRODUCT_ID, 3);
+    stockService.flushStock();
+    verify(productRepository).updateQuantity(PRODUCT_ID, DB_QUANTITY - 3);
+  }
+
+  @Test
+  void resetStockReloadsFromDatabase() {
+    stockService.reserve(PRODUCT_ID, 3);
+
+    stockService.resetStock(PRODUCT_ID);
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(DB_QUANTITY);
+    assertThat(redissonClient.getSet(StockService.REDIS_STOCK_DIRTY_KEY, StringCodec.INSTANCE).contains("1")).isFalse();
+  }
+
+  @Test
+  void releaseAndConfirmIgnoreQuantityAlreadyReleased() {
+    stockService.reserve(PRODUCT_ID, 2);
+    stockService.release(PRODUCT_ID, 2);
+
+    stockService.release(PRODUCT_ID, 1);
+    stockService.confirm(PRODUCT_ID, 1);
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(10);
+    assertThat(reserved()).isZero();
+  }
+
+  @Test
+  void confirmOnlyDropsReservedQuantity() {
+    stockService.reserve(PRODUCT_ID, 4);
+
+    stockService.confirm(PRODUCT_ID, 3);
+    stockService.confirm(PRODUCT_ID, 3);
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(6);
+    assertThat(reserved()).isZero();
+  }
+
+  @Test
+  void rejectsNonPositiveQuantity() {
+    assertThatThrownBy(() -> stockService.reserve(PRODUCT_ID, 0)).isInstanceOf(CustomException.class);
+    assertThatThrownBy(() -> stockService.release(PRODUCT_ID, -1)).isInstanceOf(CustomException.class);
+
+    verify(productRepository, never()).findById(PRODUCT_ID);
+  }
+
+  /**
+   * DB 에 저장된 복구 건은 먼저 삭제한 노드만 복구합니다.
+   */
+  @Test
+  void retryReleasesOnlyClaimedRows() {
+    stockService.reserve(PRODUCT_ID, 5);
+    StockRelease claimed = mock(StockRelease.class);
+    when(claimed.getId()).thenReturn(1L);
+    when(claimed.getProductId()).thenReturn(PRODUCT_ID);
+    when(claimed.getQuantity()).thenReturn(3);
+    StockRelease taken = mock(StockRelease.class);
+    when(taken.getId()).thenReturn(2L);
+    when(stockReleaseRepository.findTop100ByOrderByIdAsc()).thenReturn(List.of(claimed, taken));
+    when(stockReleaseRepository.claimById(1L)).thenReturn(1);
+
+    stockService.retryPendingReleases();
+
+    assertThat(stockService.getAvailable(PRODUCT_ID)).isEqualTo(8);
+    assertThat(reserved()).isEqualTo(2);
+    verify(stockReleaseRepository, never()).save(any());
+  }
+
+  private long reserved() {
+    RMap<String, String> stock = redissonClient.getMap(StockService.REDIS_STOCK_KEY + PRODUCT_ID, StringCodec.INSTANCE);
+    return Long.parseLong(stock.get("reserved"));
+  }
+
+  private static <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+      start.countDown();
+
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static int findFreePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}